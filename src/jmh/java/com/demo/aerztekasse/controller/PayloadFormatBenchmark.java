@@ -0,0 +1,95 @@
+package com.demo.aerztekasse.controller;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.demo.aerztekasse.benchmark.ScheduleGenerator;
+import com.demo.aerztekasse.records.PlaceRecord;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Wire size and (de)serialization cost of the listAll response and the bulk POST request in
+ * each format PlaceController negotiates, plus the previously default indented JSON. The
+ * encoded size is reported through the {@code payloadBytes} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+
+    public enum Format {
+        JSON_INDENTED,
+        JSON,
+        SMILE,
+        CBOR
+    }
+
+    private static final TypeReference<List<PlaceRecord>> PLACE_LIST = new TypeReference<>() {
+    };
+
+    @Param({ "100", "1000" })
+    public int places;
+
+    @Param({ "JSON_INDENTED", "JSON", "SMILE", "CBOR" })
+    public Format format;
+
+    private ObjectMapper mapper;
+    private List<PlaceRecord> listAll;
+    private byte[] bulkRequest;
+    private int bulkRequestBytes;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Payload {
+
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.payloadBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        this.mapper = switch (this.format) {
+            case JSON_INDENTED -> Jackson2ObjectMapperBuilder.json().indentOutput(true).build();
+            case JSON -> Jackson2ObjectMapperBuilder.json().build();
+            case SMILE -> Jackson2ObjectMapperBuilder.smile().build();
+            case CBOR -> Jackson2ObjectMapperBuilder.cbor().build();
+        };
+        this.listAll = ScheduleGenerator.places(this.places, 14, ScheduleGenerator.Pattern.SPLIT, 42);
+        var bulk = this.listAll.stream()
+                .map(place -> new PlaceRecord(null, place.label(), place.location(), place.openingHours()))
+                .toList();
+        this.bulkRequest = this.mapper.writeValueAsBytes(bulk);
+        this.bulkRequestBytes = this.bulkRequest.length;
+    }
+
+    @Benchmark
+    public byte[] serializeListAll(Payload payload) throws IOException {
+        var bytes = this.mapper.writeValueAsBytes(this.listAll);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<PlaceRecord> deserializeBulkRequest(Payload payload) throws IOException {
+        payload.payloadBytes = this.bulkRequestBytes;
+        return this.mapper.readValue(this.bulkRequest, PLACE_LIST);
+    }
+}
@@ -0,0 +1,41 @@
+package com.demo.aerztekasse.entity.Deserializer;
+
+import java.time.DayOfWeek;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Deserializes a week of day names in the casings clients send.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DayOfWeekDeserializerBenchmark {
+
+    private static final String WEEK = "[\"monday\", \"TUESDAY\", \"Wednesday\", \"thursday\", \"FRIDAY\", \"saturday\", \"Sunday\"]";
+
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() {
+        var mapper = new ObjectMapper()
+                .registerModule(new SimpleModule().addDeserializer(DayOfWeek.class, new DayOfWeekDeserializer()));
+        this.reader = mapper.readerFor(DayOfWeek[].class);
+    }
+
+    @Benchmark
+    public DayOfWeek[] deserializeWeek() throws Exception {
+        return this.reader.readValue(WEEK);
+    }
+}
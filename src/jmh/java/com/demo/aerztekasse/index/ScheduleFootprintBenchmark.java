@@ -0,0 +1,103 @@
+package com.demo.aerztekasse.index;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import com.demo.aerztekasse.benchmark.ScheduleGenerator;
+import com.demo.aerztekasse.entity.DayOpening;
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.demo.aerztekasse.records.PlaceRecord;
+
+/**
+ * Retained heap of the opening hours of one million places, held either as DayOpening
+ * entity lists (as loaded by JPA, including the back-reference to the place) or as
+ * {@link CompactSchedule}s. The footprint is measured with JOL and reported through the
+ * {@code retainedBytes} and {@code bytesPerPlace} counters; the score is the build time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g", "-Djdk.attach.allowAttachSelf=true" })
+public class ScheduleFootprintBenchmark {
+
+    public enum Layout {
+        ENTITIES,
+        COMPACT
+    }
+
+    @Param({ "1000000" })
+    public int places;
+
+    @Param({ "7", "14" })
+    public int intervals;
+
+    @Param({ "ENTITIES", "COMPACT" })
+    public Layout layout;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+
+        public long retainedBytes;
+        public long bytesPerPlace;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.retainedBytes = 0;
+            this.bytesPerPlace = 0;
+        }
+    }
+
+    @Benchmark
+    public Object build(Footprint footprint) {
+        var random = new Random(42);
+        var store = new ArrayList<Object>(this.places);
+        for (int i = 0; i < this.places; i++) {
+            var days = toEntity(ScheduleGenerator.place(i, this.intervals, ScheduleGenerator.Pattern.RANDOM, random)).getDays();
+            store.add(this.layout == Layout.COMPACT ? CompactSchedule.of(days) : days);
+        }
+        footprint.retainedBytes = GraphLayout.parseInstance(store).totalSize();
+        footprint.bytesPerPlace = footprint.retainedBytes / this.places;
+        return store;
+    }
+
+    private static Place toEntity(PlaceRecord record) {
+        var place = Place.builder()
+                .id(record.id())
+                .label(record.label())
+                .location(record.location())
+                .days(new ArrayList<>())
+                .build();
+        record.openingHours().days().forEach((day, intervals) -> {
+            var dayOfWeek = DayOfWeek.valueOf(day.toUpperCase());
+            intervals.forEach(interval -> place.getDays().add(DayOpening.builder()
+                    .dayOfWeek(dayOfWeek)
+                    .startMinute(TimeHelper.toMinuteOfDay(interval.start()))
+                    .endMinute(TimeHelper.toEndMinuteOfDay(interval.end()))
+                    .type(interval.type())
+                    .place(place)
+                    .build()));
+        });
+        return place;
+    }
+}
@@ -0,0 +1,92 @@
+package com.demo.aerztekasse.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.demo.aerztekasse.AerztekasseApplication;
+import com.demo.aerztekasse.benchmark.ScheduleGenerator;
+import com.demo.aerztekasse.records.BulkSaveRecord;
+import com.demo.aerztekasse.records.PlaceRecord;
+import com.demo.aerztekasse.service.PlaceService;
+
+/**
+ * Imports through the bulk path with and without JDBC batching; the {@code rows} counter
+ * reports inserted rows per second. Without batching every row is its own INSERT. Both modes
+ * take their ids from the pooled sequences, as IDENTITY can no longer be selected, so the
+ * comparison isolates batching.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkInsertBenchmark {
+
+    private static final int PLACES = 1_000;
+
+    @Param({ "true", "false" })
+    public boolean batched;
+
+    private ConfigurableApplicationContext context;
+    private PlaceService placeService;
+    private List<PlaceRecord> places;
+    private long rowsPerImport;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Rows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.rows = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        var args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bulkinsert" + this.batched + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        if (!this.batched) {
+            args.add("--spring.jpa.properties.hibernate.jdbc.batch_size=1");
+            args.add("--spring.jpa.properties.hibernate.order_inserts=false");
+        }
+        this.context = new SpringApplicationBuilder(AerztekasseApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        this.placeService = this.context.getBean(PlaceService.class);
+        this.places = ScheduleGenerator.places(PLACES, 14, ScheduleGenerator.Pattern.SPLIT, 42);
+        this.rowsPerImport = this.places.stream()
+                .mapToLong(place -> 1 + place.openingHours().days().values().stream().mapToLong(List::size).sum())
+                .sum();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public BulkSaveRecord bulkSave(Rows rows) {
+        var result = this.placeService.bulkSave(this.places);
+        rows.rows += this.rowsPerImport;
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package com.demo.aerztekasse.service.impl;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.demo.aerztekasse.AerztekasseApplication;
+import com.demo.aerztekasse.benchmark.ScheduleGenerator;
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.demo.aerztekasse.records.OpenIntervalRecord;
+import com.demo.aerztekasse.records.OpeningHoursPatchRecord;
+import com.demo.aerztekasse.records.PlaceRecord;
+import com.demo.aerztekasse.records.VersionedPlaceRecord;
+import com.demo.aerztekasse.service.PlaceService;
+
+/**
+ * PATCH throughput of seven writers that all hit one place, so every write races the others
+ * for the version and the losers are retried, against the same writers each on their own
+ * place. Every writer patches its own day, so the contended writes only collide on the
+ * version. The retries are counted by the {@code places.update.conflicts} meter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(ContendedUpdateBenchmark.WRITERS)
+public class ContendedUpdateBenchmark {
+
+    static final int WRITERS = 7;
+
+    @Param({ "1", "7" })
+    public int places;
+
+    private ConfigurableApplicationContext context;
+    private PlaceService placeService;
+    private List<Long> ids;
+    private final AtomicInteger writers = new AtomicInteger();
+
+    /**
+     * Writer {@code w} patches day {@code w} on {@code ids[w % places]}.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private Long id;
+        private String day;
+        private int round;
+
+        @Setup
+        public void setUp(ContendedUpdateBenchmark benchmark) {
+            var writer = benchmark.writers.getAndIncrement();
+            this.id = benchmark.ids.get(writer % benchmark.ids.size());
+            this.day = DayOfWeek.values()[writer % WRITERS].name().toLowerCase();
+        }
+
+        OpeningHoursPatchRecord next() {
+            this.round = (this.round + 1) % 600;
+            var interval = new OpenIntervalRecord("08:00", TimeHelper.format(9 * 60 + this.round), "OPEN");
+            return new OpeningHoursPatchRecord(Map.of(this.day, List.of(interval)));
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        this.context = new SpringApplicationBuilder(AerztekasseApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:contended" + this.places + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--aerztekasse.update.max-attempts=100");
+        this.placeService = this.context.getBean(PlaceService.class);
+        this.ids = this.placeService.savePlace(ScheduleGenerator.places(this.places, 7, ScheduleGenerator.Pattern.UNIFORM, 42))
+                .stream()
+                .map(PlaceRecord::id)
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public VersionedPlaceRecord patch(Writer writer) {
+        return this.placeService.patchOpeningHours(writer.id, writer.next(), null);
+    }
+}
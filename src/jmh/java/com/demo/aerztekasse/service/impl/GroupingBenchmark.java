@@ -0,0 +1,52 @@
+package com.demo.aerztekasse.service.impl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.demo.aerztekasse.benchmark.ScheduleGenerator;
+import com.demo.aerztekasse.config.Config;
+import com.demo.aerztekasse.entity.DayOpening;
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.records.GroupedOpeningDayRecord;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GroupingBenchmark {
+
+    private static final int PLACES = 256;
+
+    @Param({ "1", "7", "14", "50" })
+    public int intervals;
+
+    @Param({ "UNIFORM", "WEEKDAYS", "SPLIT", "RANDOM" })
+    public ScheduleGenerator.Pattern pattern;
+
+    private GroupPlaceServiceImpl service;
+    private List<List<DayOpening>> schedules;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var mapper = new PlaceMapper();
+        this.service = new GroupPlaceServiceImpl(null, new Config().dayOrder(), null, null, null);
+        this.schedules = ScheduleGenerator.places(PLACES, this.intervals, this.pattern, 42).stream()
+                .map(mapper::buildEntity)
+                .map(Place::getDays)
+                .toList();
+    }
+
+    @Benchmark
+    public List<GroupedOpeningDayRecord> groupOpenings() {
+        return this.service.groupOpenings(this.schedules.get(this.next++ % PLACES));
+    }
+}
@@ -0,0 +1,55 @@
+package com.demo.aerztekasse.service.impl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.demo.aerztekasse.benchmark.ScheduleGenerator;
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.records.PlaceRecord;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PlaceMappingBenchmark {
+
+    private static final int PLACES = 256;
+
+    @Param({ "1", "7", "14", "50" })
+    public int intervals;
+
+    @Param({ "WEEKDAYS", "RANDOM" })
+    public ScheduleGenerator.Pattern pattern;
+
+    private PlaceMapper mapper;
+    private List<PlaceRecord> records;
+    private List<Place> entities;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        this.mapper = new PlaceMapper();
+        this.records = ScheduleGenerator.places(PLACES, this.intervals, this.pattern, 42);
+        this.entities = this.records.stream()
+                .map(this.mapper::buildEntity)
+                .toList();
+    }
+
+    @Benchmark
+    public PlaceRecord buildRecord() {
+        return this.mapper.buildRecord(this.entities.get(this.next++ % PLACES));
+    }
+
+    @Benchmark
+    public Place buildEntity() {
+        return this.mapper.buildEntity(this.records.get(this.next++ % PLACES));
+    }
+}
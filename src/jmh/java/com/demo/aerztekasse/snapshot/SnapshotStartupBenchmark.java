@@ -0,0 +1,166 @@
+package com.demo.aerztekasse.snapshot;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.util.FileSystemUtils;
+
+import com.demo.aerztekasse.benchmark.ScheduleGenerator;
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.demo.aerztekasse.records.OpenIntervalRecord;
+
+/**
+ * Startup cost of filling a fresh database by replaying a data.sql style script, as
+ * {@code spring.sql.init} does, against loading the same places from a binary snapshot. Each
+ * invocation gets a new database whose schema is created beforehand and is not measured.
+ * The 1M case needs a few GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SnapshotStartupBenchmark {
+
+    public enum Source {
+        SQL,
+        SNAPSHOT
+    }
+
+    private static final int ROWS_PER_INSERT = 1000;
+
+    @Param({ "100000", "1000000" })
+    public int places;
+
+    @Param({ "SQL", "SNAPSHOT" })
+    public Source source;
+
+    private Path directory;
+    private Path script;
+    private Path snapshot;
+    private long openings;
+    private DataSource dataSource;
+    private int databases;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("snapshot-startup");
+        this.script = this.directory.resolve("data.sql");
+        this.snapshot = this.directory.resolve("places.snapshot");
+        this.openings = generate(this.places, this.script, this.snapshot);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(this.directory);
+    }
+
+    @Setup(Level.Invocation)
+    public void createDatabase() {
+        this.dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:startup" + this.databases++ + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(this.dataSource);
+    }
+
+    /**
+     * Checks that the run loaded everything, then drops the database.
+     */
+    @TearDown(Level.Invocation)
+    public void dropDatabase() {
+        var jdbcTemplate = new JdbcTemplate(this.dataSource);
+        var places = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PLACE", Long.class);
+        var openings = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM DAY_OPENING", Long.class);
+        jdbcTemplate.execute("SHUTDOWN");
+        if (places != this.places || openings != this.openings) {
+            throw new IllegalStateException("Loaded " + places + " places and " + openings + " openings, expected "
+                    + this.places + " and " + this.openings);
+        }
+    }
+
+    @Benchmark
+    public void load() throws IOException {
+        switch (this.source) {
+            case SQL -> new ResourceDatabasePopulator(new FileSystemResource(this.script)).execute(this.dataSource);
+            case SNAPSHOT -> new PlaceSnapshotService(this.dataSource, true, this.snapshot, false).load(this.snapshot);
+        }
+    }
+
+    /**
+     * Writes the same generated places as an SQL script and as a snapshot.
+     *
+     * @return the number of openings
+     */
+    private static long generate(int places, Path script, Path snapshot) throws IOException {
+        var random = new Random(42);
+        var lastModified = Instant.parse("2024-01-01T00:00:00Z");
+        var openingId = 0L;
+        var placeValues = new StringBuilder();
+        var openingValues = new StringBuilder();
+        var placeRows = 0;
+        try (var sql = Files.newBufferedWriter(script, StandardCharsets.UTF_8);
+             var writer = new PlaceSnapshotWriter(snapshot)) {
+            for (int i = 0; i < places; i++) {
+                var place = ScheduleGenerator.place(i, 14, ScheduleGenerator.Pattern.SPLIT, random);
+                var id = place.id();
+                writer.place(id, place.label(), place.location(), 0, lastModified);
+                placeValues.append(placeRows++ == 0 ? "" : ",\n")
+                        .append('(').append(id).append(", '").append(place.label()).append("', '")
+                        .append(place.location()).append("')");
+                for (var day : place.openingHours().days().entrySet()) {
+                    var dayOfWeek = DayOfWeek.valueOf(day.getKey().toUpperCase());
+                    for (OpenIntervalRecord interval : day.getValue()) {
+                        var start = TimeHelper.toMinuteOfDay(interval.start());
+                        var end = TimeHelper.toEndMinuteOfDay(interval.end());
+                        writer.opening(++openingId, dayOfWeek, start, end, interval.type());
+                        openingValues.append(openingValues.isEmpty() ? "" : ",\n")
+                                .append('(').append(openingId).append(", ").append(id).append(", ")
+                                .append(dayOfWeek.ordinal()).append(", ").append(start).append(", ").append(end)
+                                .append(", '").append(interval.type()).append("')");
+                    }
+                }
+                if (placeRows >= ROWS_PER_INSERT || i == places - 1) {
+                    flush(sql, "PLACE(ID, LABEL, LOCATION)", placeValues);
+                    flush(sql, "DAY_OPENING(ID, PLACE_ID, DAY_OF_WEEK, START_MINUTE, END_MINUTE, OPENING_TYPE)", openingValues);
+                    placeRows = 0;
+                }
+            }
+        }
+        return openingId;
+    }
+
+    private static void flush(BufferedWriter sql, String table, StringBuilder values) throws IOException {
+        if (!values.isEmpty()) {
+            sql.write("INSERT INTO " + table + " VALUES\n");
+            sql.append(values).write(";\n\n");
+            values.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.demo.aerztekasse.validation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.demo.aerztekasse.annotation.ValidTime;
+import com.demo.aerztekasse.benchmark.ScheduleGenerator;
+import com.demo.aerztekasse.records.OpenIntervalRecord;
+import com.demo.aerztekasse.records.OpeningHoursRecord;
+
+/**
+ * Validates every interval of one generated place per invocation, which is what the
+ * bean validation of a POST /places payload does per record.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ValidatorBenchmark {
+
+    private static final int PLACES = 256;
+
+    @Param({ "1", "7", "14", "50" })
+    public int intervals;
+
+    private TimeFormatValidator timeFormatValidator;
+    private StartBeforeEndValidator startBeforeEndValidator;
+    private NoOverlappingIntervalsValidator noOverlappingIntervalsValidator;
+    private List<OpeningHoursRecord> openingHours;
+    private List<List<OpenIntervalRecord>> places;
+    private int next;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        this.timeFormatValidator = new TimeFormatValidator();
+        this.timeFormatValidator.initialize(
+                OpenIntervalRecord.class.getDeclaredField("start").getAnnotation(ValidTime.class));
+        this.startBeforeEndValidator = new StartBeforeEndValidator();
+        this.noOverlappingIntervalsValidator = new NoOverlappingIntervalsValidator();
+        this.openingHours = ScheduleGenerator.places(PLACES, this.intervals, ScheduleGenerator.Pattern.RANDOM, 42).stream()
+                .map(place -> place.openingHours())
+                .toList();
+        this.places = this.openingHours.stream()
+                .map(hours -> hours.days().values().stream()
+                        .flatMap(List::stream)
+                        .toList())
+                .toList();
+    }
+
+    @Benchmark
+    public void timeFormat(Blackhole blackhole) {
+        for (OpenIntervalRecord interval : this.places.get(this.next++ % PLACES)) {
+            blackhole.consume(this.timeFormatValidator.isValid(interval.start(), null));
+            blackhole.consume(this.timeFormatValidator.isValid(interval.end(), null));
+        }
+    }
+
+    @Benchmark
+    public void startBeforeEnd(Blackhole blackhole) {
+        for (OpenIntervalRecord interval : this.places.get(this.next++ % PLACES)) {
+            blackhole.consume(this.startBeforeEndValidator.isValid(interval, null));
+        }
+    }
+
+    @Benchmark
+    public boolean noOverlappingIntervals() {
+        return this.noOverlappingIntervalsValidator.isValid(this.openingHours.get(this.next++ % PLACES), null);
+    }
+}
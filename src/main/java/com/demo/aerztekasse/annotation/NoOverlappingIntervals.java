@@ -0,0 +1,25 @@
+package com.demo.aerztekasse.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.demo.aerztekasse.validation.NoOverlappingIntervalsValidator;
+import com.demo.aerztekasse.validation.NoOverlappingPatchIntervalsValidator;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = { NoOverlappingIntervalsValidator.class, NoOverlappingPatchIntervalsValidator.class })
+public @interface NoOverlappingIntervals {
+	String message() default "Intervals of the same day must not overlap";
+
+	Class<?>[] groups() default {};
+
+	Class<? extends Payload>[] payload() default {};
+}
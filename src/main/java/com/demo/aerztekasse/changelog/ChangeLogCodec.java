@@ -0,0 +1,189 @@
+package com.demo.aerztekasse.changelog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import com.demo.aerztekasse.entity.Place;
+
+/**
+ * Encoding of change log entries, all numbers big-endian:
+ * <pre>
+ * frame    payload length (int), CRC32C of the payload (int), payload
+ * upsert   kind 1 (byte), place id (long), version (long), last modified seconds (long) and
+ *          nanos (int), label (string), location (string), opening count (int), openings
+ * opening  day of week ordinal (byte), start minute (short), end minute (short), type (string)
+ * delete   kind 2 (byte), place id (long), version {@link Long#MAX_VALUE}
+ * string   UTF-8 length in bytes (int, -1 for null) followed by the bytes
+ * </pre>
+ * Opening ids are not logged; replay draws new ones from the sequence. A delete carries the
+ * highest possible version, so it supersedes every upsert of the same place and survives
+ * compaction, which keeps the id of a deleted place in the log as a sequence high-water mark.
+ */
+final class ChangeLogCodec {
+
+    static final byte UPSERT = 1;
+    static final byte DELETE = 2;
+    static final int FRAME_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int ID_OFFSET = 1;
+    private static final int VERSION_OFFSET = ID_OFFSET + Long.BYTES;
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
+    private ChangeLogCodec() {
+    }
+
+    static ByteBuffer upsert(Place place) {
+        var label = bytes(place.getLabel());
+        var location = bytes(place.getLocation());
+        var days = place.getDays();
+        var size = 1 + 3 * Long.BYTES + Integer.BYTES + length(label) + length(location) + Integer.BYTES;
+        var types = new byte[days.size()][];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = bytes(days.get(i).getType());
+            size += 1 + 2 * Short.BYTES + length(types[i]);
+        }
+        var payload = ByteBuffer.allocate(size)
+                .put(UPSERT)
+                .putLong(place.getId())
+                .putLong(place.getVersion())
+                .putLong(place.getLastModified().getEpochSecond())
+                .putInt(place.getLastModified().getNano());
+        putString(payload, label);
+        putString(payload, location);
+        payload.putInt(types.length);
+        for (int i = 0; i < types.length; i++) {
+            var opening = days.get(i);
+            payload.put((byte) opening.getDayOfWeek().ordinal())
+                    .putShort(opening.getStartMinute().shortValue())
+                    .putShort(opening.getEndMinute().shortValue());
+            putString(payload, types[i]);
+        }
+        return frame(payload.flip());
+    }
+
+    static ByteBuffer delete(long id) {
+        var payload = ByteBuffer.allocate(1 + 2 * Long.BYTES)
+                .put(DELETE)
+                .putLong(id)
+                .putLong(Long.MAX_VALUE);
+        return frame(payload.flip());
+    }
+
+    static byte kind(ByteBuffer payload) {
+        return payload.get(0);
+    }
+
+    static long id(ByteBuffer payload) {
+        return payload.getLong(ID_OFFSET);
+    }
+
+    static long version(ByteBuffer payload) {
+        return payload.getLong(VERSION_OFFSET);
+    }
+
+    /**
+     * Wraps an already decoded payload into a frame again, e.g. to copy it into a compacted segment.
+     */
+    static ByteBuffer frame(ByteBuffer payload) {
+        var crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return ByteBuffer.allocate(FRAME_HEADER_SIZE + payload.remaining())
+                .putInt(payload.remaining())
+                .putInt((int) crc.getValue())
+                .put(payload.duplicate())
+                .flip();
+    }
+
+    static void decode(ByteBuffer payload, ChangeLogVisitor visitor) {
+        var buffer = payload.duplicate();
+        var kind = buffer.get();
+        var id = buffer.getLong();
+        if (kind == DELETE) {
+            visitor.delete(id);
+            return;
+        }
+        var version = buffer.getLong();
+        var lastModified = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        visitor.place(id, getString(buffer), getString(buffer), version, lastModified);
+        var openings = buffer.getInt();
+        for (int i = 0; i < openings; i++) {
+            var day = DAYS[buffer.get()];
+            var start = buffer.getShort();
+            var end = buffer.getShort();
+            visitor.opening(id, day, start, end, getString(buffer));
+        }
+    }
+
+    /**
+     * Reads a segment into the heap and hands the payload of every intact frame to the consumer. Reading
+     * stops at the first frame that is cut off or fails its checksum, i.e. a write torn by a crash.
+     *
+     * @return the length of the intact prefix of the segment
+     */
+    static long forEachFrame(Path segment, Consumer<ByteBuffer> consumer) throws IOException {
+        try (var channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Change log segment " + segment + " exceeds 2 GB");
+            }
+            // read rather than mapped, so compaction can delete the segment right away on every platform
+            var buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the whole segment is in the buffer
+            }
+            buffer.flip();
+            var crc = new CRC32C();
+            while (buffer.remaining() >= FRAME_HEADER_SIZE) {
+                var start = buffer.position();
+                var length = buffer.getInt();
+                var checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    return start;
+                }
+                var payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    return start;
+                }
+                consumer.accept(payload);
+                buffer.position(buffer.position() + length);
+            }
+            return buffer.position();
+        }
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        var length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+}
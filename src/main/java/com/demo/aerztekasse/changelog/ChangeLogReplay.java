@@ -0,0 +1,135 @@
+package com.demo.aerztekasse.changelog;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Applies change log entries to the database over plain JDBC. Entries may arrive out of order
+ * (writers append after their commit) and may already be contained in a loaded snapshot, so an
+ * upsert only replaces a place stored with a lower version, and a deleted id stays deleted.
+ * It also tracks the highest place id in the log, deletes included, which is the high-water
+ * mark the place sequence has to restart past.
+ */
+final class ChangeLogReplay implements ChangeLogVisitor, AutoCloseable {
+
+    private static final String SELECT_VERSION = "SELECT VERSION FROM PLACE WHERE ID = ?";
+    private static final String DELETE_OPENINGS = "DELETE FROM DAY_OPENING WHERE PLACE_ID = ?";
+    private static final String DELETE_PLACE = "DELETE FROM PLACE WHERE ID = ?";
+    private static final String MERGE_PLACE =
+            "MERGE INTO PLACE(ID, LABEL, LOCATION, VERSION, LAST_MODIFIED) KEY(ID) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_OPENING = """
+            INSERT INTO DAY_OPENING(ID, PLACE_ID, DAY_OF_WEEK, START_MINUTE, END_MINUTE, OPENING_TYPE)
+            VALUES (NEXT VALUE FOR DAY_OPENING_SEQ, ?, ?, ?, ?, ?)""";
+
+    private final PreparedStatement selectVersion;
+    private final PreparedStatement deleteOpenings;
+    private final PreparedStatement deletePlace;
+    private final PreparedStatement mergePlace;
+    private final PreparedStatement insertOpening;
+    private final Set<Long> deleted = new HashSet<>();
+    private boolean skipOpenings;
+    private long applied;
+    private long skipped;
+    private long maxPlaceId;
+
+    ChangeLogReplay(Connection connection) throws SQLException {
+        this.selectVersion = connection.prepareStatement(SELECT_VERSION);
+        this.deleteOpenings = connection.prepareStatement(DELETE_OPENINGS);
+        this.deletePlace = connection.prepareStatement(DELETE_PLACE);
+        this.mergePlace = connection.prepareStatement(MERGE_PLACE);
+        this.insertOpening = connection.prepareStatement(INSERT_OPENING);
+    }
+
+    @Override
+    public void place(long id, String label, String location, long version, Instant lastModified) {
+        this.maxPlaceId = Math.max(this.maxPlaceId, id);
+        try {
+            this.insertOpening.executeBatch();
+            this.skipOpenings = this.deleted.contains(id) || storedVersion(id) >= version;
+            if (this.skipOpenings) {
+                this.skipped++;
+                return;
+            }
+            this.deleteOpenings.setLong(1, id);
+            this.deleteOpenings.executeUpdate();
+            this.mergePlace.setLong(1, id);
+            this.mergePlace.setString(2, label);
+            this.mergePlace.setString(3, location);
+            this.mergePlace.setLong(4, version);
+            this.mergePlace.setObject(5, OffsetDateTime.ofInstant(lastModified, ZoneOffset.UTC));
+            this.mergePlace.executeUpdate();
+            this.applied++;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Replaying place " + id + " failed", e);
+        }
+    }
+
+    @Override
+    public void opening(long placeId, DayOfWeek dayOfWeek, int startMinute, int endMinute, String type) {
+        if (this.skipOpenings) {
+            return;
+        }
+        try {
+            this.insertOpening.setLong(1, placeId);
+            this.insertOpening.setInt(2, dayOfWeek.ordinal());
+            this.insertOpening.setInt(3, startMinute);
+            this.insertOpening.setInt(4, endMinute);
+            this.insertOpening.setString(5, type);
+            this.insertOpening.addBatch();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Replaying the openings of place " + placeId + " failed", e);
+        }
+    }
+
+    @Override
+    public void delete(long id) {
+        this.maxPlaceId = Math.max(this.maxPlaceId, id);
+        try {
+            this.insertOpening.executeBatch();
+            this.deleted.add(id);
+            this.deleteOpenings.setLong(1, id);
+            this.deleteOpenings.executeUpdate();
+            this.deletePlace.setLong(1, id);
+            this.applied += this.deletePlace.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Replaying the deletion of place " + id + " failed", e);
+        }
+    }
+
+    long applied() {
+        return this.applied;
+    }
+
+    long skipped() {
+        return this.skipped;
+    }
+
+    long maxPlaceId() {
+        return this.maxPlaceId;
+    }
+
+    void flush() throws SQLException {
+        this.insertOpening.executeBatch();
+    }
+
+    private long storedVersion(long id) throws SQLException {
+        this.selectVersion.setLong(1, id);
+        try (var result = this.selectVersion.executeQuery()) {
+            return result.next() ? result.getLong(1) : -1;
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try (this.selectVersion; this.deleteOpenings; this.deletePlace; this.mergePlace; this.insertOpening) {
+            // closes every statement, even when closing one of them fails
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.demo.aerztekasse.changelog;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+
+/**
+ * Receives decoded change log entries: an upserted place followed by all of its openings,
+ * or a deleted place id.
+ */
+public interface ChangeLogVisitor {
+
+    void place(long id, String label, String location, long version, Instant lastModified);
+
+    void opening(long placeId, DayOfWeek dayOfWeek, int startMinute, int endMinute, String type);
+
+    void delete(long id);
+}
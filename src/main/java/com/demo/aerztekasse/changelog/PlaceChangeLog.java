@@ -0,0 +1,416 @@
+package com.demo.aerztekasse.changelog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.helper.SequenceHelper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of place mutations that makes writes to the in-memory database survive a
+ * restart. Enabled with {@code aerztekasse.change-log.enabled=true}.
+ * <p>
+ * Writers enqueue their encoded entries once their transaction has committed and wait until
+ * the entries are on disk. A single flusher thread drains everything queued so far, writes it
+ * with one gathering {@link FileChannel} write and forces it with one fsync (group commit), so
+ * concurrent requests share the cost of a disk sync instead of paying one each.
+ * <p>
+ * The log is split into numbered segments. At startup every segment is replayed on top of
+ * data.sql or a loaded snapshot, and a fresh segment is opened. In the background the active
+ * segment is rolled and the closed segments are compacted into one that keeps only the latest
+ * entry per place.
+ */
+@Slf4j
+@Component
+@Order(2)
+public class PlaceChangeLog implements ApplicationRunner {
+
+    private static final String SEGMENT_PREFIX = "changes-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentBytes;
+    private final Duration compactInterval;
+
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final Condition queued = this.queueLock.newCondition();
+    private final Condition flushed = this.queueLock.newCondition();
+    private List<ByteBuffer> pending = new ArrayList<>();
+    private long appendedSequence;
+    private long durableSequence;
+    private IOException failure;
+    private boolean running;
+
+    private final ReentrantLock segmentLock = new ReentrantLock();
+    private FileChannel active;
+    private long activeSegment;
+
+    private Thread flusher;
+    private ScheduledExecutorService compactor;
+
+    public PlaceChangeLog(DataSource dataSource,
+                          @Value("${aerztekasse.change-log.enabled:false}") boolean enabled,
+                          @Value("${aerztekasse.change-log.directory:data/changelog}") Path directory,
+                          @Value("${aerztekasse.change-log.segment-size:64MB}") DataSize segmentSize,
+                          @Value("${aerztekasse.change-log.compact-interval:10m}") Duration compactInterval) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentBytes = segmentSize.toBytes();
+        this.compactInterval = compactInterval;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Replays the existing segments, then starts the flusher and the compaction schedule.
+     */
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!this.enabled) {
+            return;
+        }
+        Files.createDirectories(this.directory);
+        var segments = segments();
+        replay(segments);
+        this.activeSegment = segments.isEmpty() ? 1 : sequence(segments.getLast()) + 1;
+        this.active = open(this.activeSegment);
+
+        this.queueLock.lock();
+        try {
+            this.running = true;
+        } finally {
+            this.queueLock.unlock();
+        }
+        this.flusher = Thread.ofPlatform().name("change-log-flusher").daemon().start(this::flushLoop);
+        this.compactor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("change-log-compactor").daemon().factory());
+        this.compactor.scheduleWithFixedDelay(this::compactQuietly,
+                this.compactInterval.toMillis(), this.compactInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Logs the current state of the places and returns once it is durable; inside a transaction
+     * the entries are appended after the commit.
+     */
+    public void recordUpserts(Collection<Place> places) {
+        if (!this.enabled || places.isEmpty()) {
+            return;
+        }
+        append(places.stream().map(ChangeLogCodec::upsert).toList());
+    }
+
+    public void recordDelete(Long id) {
+        recordDeletes(List.of(id));
+    }
+
+    /**
+     * Appends all deletes as one group, so a bulk delete waits for a single fsync.
+     */
+    public void recordDeletes(Collection<Long> ids) {
+        if (!this.enabled || ids.isEmpty()) {
+            return;
+        }
+        append(ids.stream().map(ChangeLogCodec::delete).toList());
+    }
+
+    private void append(List<ByteBuffer> entries) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    awaitDurable(enqueue(entries));
+                }
+            });
+        } else {
+            awaitDurable(enqueue(entries));
+        }
+    }
+
+    private long enqueue(List<ByteBuffer> entries) {
+        this.queueLock.lock();
+        try {
+            this.pending.addAll(entries);
+            this.queued.signal();
+            return ++this.appendedSequence;
+        } finally {
+            this.queueLock.unlock();
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        this.queueLock.lock();
+        try {
+            while (this.durableSequence < sequence && this.failure == null) {
+                this.flushed.awaitUninterruptibly();
+            }
+            if (this.failure != null) {
+                throw new UncheckedIOException("The change log is not writable", this.failure);
+            }
+        } finally {
+            this.queueLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<ByteBuffer> batch;
+            long sequence;
+            this.queueLock.lock();
+            try {
+                while (this.pending.isEmpty() && this.running) {
+                    this.queued.awaitUninterruptibly();
+                }
+                if (this.pending.isEmpty()) {
+                    return;
+                }
+                batch = this.pending;
+                this.pending = new ArrayList<>();
+                sequence = this.appendedSequence;
+            } finally {
+                this.queueLock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                write(batch);
+            } catch (IOException e) {
+                log.error("Writing to the change log failed, further writes are rejected", e);
+                error = e;
+            }
+
+            this.queueLock.lock();
+            try {
+                if (error != null) {
+                    this.failure = error;
+                } else {
+                    this.durableSequence = sequence;
+                }
+                this.flushed.signalAll();
+            } finally {
+                this.queueLock.unlock();
+            }
+            if (error != null) {
+                return;
+            }
+        }
+    }
+
+    private void write(List<ByteBuffer> batch) throws IOException {
+        var buffers = batch.toArray(ByteBuffer[]::new);
+        this.segmentLock.lock();
+        try {
+            var remaining = batch.stream().mapToLong(ByteBuffer::remaining).sum();
+            while (remaining > 0) {
+                remaining -= this.active.write(buffers);
+            }
+            this.active.force(false);
+            if (this.active.size() >= this.segmentBytes) {
+                roll();
+            }
+        } finally {
+            this.segmentLock.unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        this.active.close();
+        this.active = open(++this.activeSegment);
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Compacting the change log failed, retrying in {}", this.compactInterval, e);
+        }
+    }
+
+    /**
+     * Rolls the active segment if it holds entries and rewrites all closed segments into the last
+     * of them, keeping only the newest entry per place. The compacted file replaces the last
+     * closed segment atomically before the older ones are deleted, so a crash in between leaves
+     * duplicates that replay tolerates, never a gap.
+     */
+    public void compact() throws IOException {
+        long firstOpen;
+        var rolled = false;
+        this.segmentLock.lock();
+        try {
+            if (this.active.size() > 0) {
+                roll();
+                rolled = true;
+            }
+            firstOpen = this.activeSegment;
+        } finally {
+            this.segmentLock.unlock();
+        }
+        var closed = segments().stream()
+                .filter(segment -> sequence(segment) < firstOpen)
+                .toList();
+        if (closed.isEmpty() || !rolled && closed.size() == 1) {
+            return;
+        }
+
+        var latest = new LinkedHashMap<Long, ByteBuffer>();
+        var entries = new long[1];
+        for (Path segment : closed) {
+            ChangeLogCodec.forEachFrame(segment, payload -> {
+                entries[0]++;
+                var current = latest.get(ChangeLogCodec.id(payload));
+                if (current == null || ChangeLogCodec.version(current) < ChangeLogCodec.version(payload)) {
+                    latest.put(ChangeLogCodec.id(payload), payload);
+                }
+            });
+        }
+
+        var target = closed.getLast();
+        var temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (ByteBuffer payload : latest.values()) {
+                var frame = ChangeLogCodec.frame(payload);
+                while (frame.hasRemaining()) {
+                    channel.write(frame);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Path segment : closed.subList(0, closed.size() - 1)) {
+            Files.delete(segment);
+        }
+        log.info("Change log compacted: {} segments with {} entries into {} entries",
+                closed.size(), entries[0], latest.size());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (this.flusher == null) {
+            return;
+        }
+        this.compactor.shutdownNow();
+        this.queueLock.lock();
+        try {
+            this.running = false;
+            this.queued.signal();
+        } finally {
+            this.queueLock.unlock();
+        }
+        this.flusher.join();
+        this.queueLock.lock();
+        try {
+            if (this.failure == null) {
+                this.failure = new IOException("The change log is closed");
+            }
+            this.flushed.signalAll();
+        } finally {
+            this.queueLock.unlock();
+        }
+        this.segmentLock.lock();
+        try {
+            this.active.close();
+        } finally {
+            this.segmentLock.unlock();
+        }
+    }
+
+    /**
+     * Applies all segments in one transaction and moves the sequences past the replayed ids,
+     * including the ids of deleted places, so none of them is handed out again.
+     * A torn frame at the end of the newest segment is cut off; anywhere else it means the log
+     * is damaged and startup fails.
+     */
+    private void replay(List<Path> segments) throws IOException {
+        if (segments.isEmpty()) {
+            return;
+        }
+        var start = System.nanoTime();
+        try (var connection = this.dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (var replay = new ChangeLogReplay(connection)) {
+                for (Path segment : segments) {
+                    var intact = ChangeLogCodec.forEachFrame(segment, payload -> ChangeLogCodec.decode(payload, replay));
+                    var size = Files.size(segment);
+                    if (intact < size) {
+                        if (!segment.equals(segments.getLast())) {
+                            throw new IOException("Change log segment " + segment + " is damaged at offset " + intact);
+                        }
+                        log.warn("Cutting off a torn write of {} bytes at the end of {}", size - intact, segment);
+                        try (var channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                            channel.truncate(intact);
+                        }
+                    }
+                }
+                replay.flush();
+                SequenceHelper.restartPastMaxIds(connection, replay.maxPlaceId());
+                connection.commit();
+                log.info("Change log replayed from {} segments: {} entries applied, {} already contained in {} ms",
+                        segments.size(), replay.applied(), replay.skipped(), (System.nanoTime() - start) / 1_000_000);
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Replaying the change log failed", e);
+        }
+    }
+
+    private FileChannel open(long sequence) throws IOException {
+        return FileChannel.open(this.directory.resolve(SEGMENT_PREFIX + "%020d".formatted(sequence) + SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files
+                    .filter(file -> {
+                        var name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequence(Path segment) {
+        var name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
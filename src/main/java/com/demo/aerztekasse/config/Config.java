@@ -3,12 +3,27 @@ package com.demo.aerztekasse.config;
 import java.time.DayOfWeek;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+@EnableCaching
 @Configuration
 public class Config {
 
+    public static final String GROUPED_OPENING_HOURS_CACHE = "groupedOpeningHours";
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     @Bean
     public List<DayOfWeek> dayOrder(){
         return List.of(DayOfWeek.MONDAY,
@@ -19,5 +34,35 @@ public class Config {
                         DayOfWeek.SATURDAY,
                         DayOfWeek.SUNDAY);
     }
-    
+
+    /**
+     * Caffeine caches configured by spring.cache.*, wrapped so that puts and evictions issued
+     * inside a transaction are deferred until it commits; a concurrent read then cannot put the
+     * pre-update grouping back into the cache. Outside a transaction they apply immediately.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.cache-names:}") List<String> cacheNames,
+                                     @Value("${spring.cache.caffeine.spec:}") String spec) {
+        var caffeine = new CaffeineCacheManager();
+        if (!spec.isBlank()) {
+            caffeine.setCacheSpecification(spec);
+        }
+        caffeine.setCacheNames(cacheNames);
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+
+    /**
+     * CBOR and Smile converters built from Boot's configured builder, so binary payloads use
+     * the same modules and features as JSON and are picked by the Accept and Content-Type headers.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
 }
\ No newline at end of file
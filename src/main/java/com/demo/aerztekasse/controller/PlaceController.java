@@ -1,8 +1,21 @@
 package com.demo.aerztekasse.controller;
 
+import com.demo.aerztekasse.config.Config;
+import com.demo.aerztekasse.metrics.PlaceMetrics;
+import com.demo.aerztekasse.records.BulkDeleteRecord;
+import com.demo.aerztekasse.records.BulkDeleteRequestRecord;
+import com.demo.aerztekasse.records.BulkSaveRecord;
+import com.demo.aerztekasse.records.GroupedPlaceLookupRecord;
 import com.demo.aerztekasse.records.GroupedPlaceRecord;
+import com.demo.aerztekasse.records.OpeningHoursPatchRecord;
+import com.demo.aerztekasse.records.PlacePageRecord;
 import com.demo.aerztekasse.records.PlaceRecord;
+import com.demo.aerztekasse.records.PlaceSearchPageRecord;
+import com.demo.aerztekasse.records.PlaceVersionRecord;
+import com.demo.aerztekasse.records.VersionedPlaceRecord;
+import com.demo.aerztekasse.records.ImportSummaryRecord;
 import com.demo.aerztekasse.service.GroupPlaceService;
+import com.demo.aerztekasse.service.PlaceImportService;
 import com.demo.aerztekasse.service.PlaceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,14 +24,34 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 @Tag(name = "Places", description = "Endpoints to manage places and fetch grouped opening hours")
 @RestController
@@ -26,10 +59,20 @@ public class PlaceController {
 
     private final PlaceService placeService;
     private final GroupPlaceService groupPlaceService;
+    private final PlaceImportService placeImportService;
+    private final PlaceMetrics placeMetrics;
+    private final ObjectWriter lineWriter;
 
-    public PlaceController(PlaceService placeService, GroupPlaceService groupPlaceService) {
+    public PlaceController(PlaceService placeService,
+                           GroupPlaceService groupPlaceService,
+                           PlaceImportService placeImportService,
+                           PlaceMetrics placeMetrics,
+                           ObjectMapper objectMapper) {
         this.placeService = placeService;
         this.groupPlaceService = groupPlaceService;
+        this.placeImportService = placeImportService;
+        this.placeMetrics = placeMetrics;
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
     }
 
     @Operation(summary = "Home", description = "Aerztekasse API home page")
@@ -53,7 +96,9 @@ public class PlaceController {
                     @ApiResponse(responseCode = "400", description = "Invalid payload or empty list")
             }
     )
-    @PostMapping(path = "/places", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(path = "/places",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
     public ResponseEntity<List<PlaceRecord>> savePlaces(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "List of PlaceRecord to be created",
@@ -67,20 +112,233 @@ public class PlaceController {
             @Valid @Size(min = 1, message = "Provide at least one location.")
             List<PlaceRecord> places
     ) {
+        this.placeMetrics.recordPayload(places);
         var saved = this.placeService.savePlace(places);
         return ResponseEntity.ok(saved);
     }
 
+    @Operation(
+            summary = "Bulk import places",
+            description = "Saves a large list of validated places in chunked transactions using JDBC batching and returns only the generated ids",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Places imported successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BulkSaveRecord.class)
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Invalid payload or empty list")
+            }
+    )
+    @PostMapping(path = "/places/bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
+    public ResponseEntity<BulkSaveRecord> bulkSavePlaces(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "List of PlaceRecord to be imported",
+                    required = true,
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = PlaceRecord.class))
+                    )
+            )
+            @RequestBody
+            @Valid @Size(min = 1, message = "Provide at least one location.")
+            List<PlaceRecord> places
+    ) {
+        this.placeMetrics.recordPayload(places);
+        var saved = this.placeService.bulkSave(places);
+        return ResponseEntity.ok(saved);
+    }
+
+    @Operation(
+            summary = "Import places from NDJSON",
+            description = "Reads one PlaceRecord per line, validates each line on its own and saves accepted lines in "
+                    + "chunked transactions. Streams back one result per line followed by a summary line.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Newline-delimited PlaceRecord objects",
+                    required = true,
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+            ),
+            responses = @ApiResponse(
+                    responseCode = "200", description = "Per-line results followed by the import summary",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+            )
+    )
+    @PostMapping(path = "/places/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importPlaces(
+            @Parameter(hidden = true) InputStream body,
+            @Parameter(hidden = true) HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        var out = response.getOutputStream();
+        ImportSummaryRecord summary;
+        try {
+            summary = this.placeImportService.importNdjson(body, line -> writeLine(out, line));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writeLine(out, summary);
+        out.flush();
+    }
+
     @Operation(
             summary = "List all places",
             responses = @ApiResponse(responseCode = "200", description = "Returns list of places")
     )
-    @GetMapping(path = "/places", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(path = "/places",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
     public ResponseEntity<List<PlaceRecord>> listAll() {
         var list = this.placeService.listAll();
         return ResponseEntity.ok(list);
     }
 
+    @Operation(
+            summary = "List places page by page",
+            description = "Keyset pagination ordered by id; pass the returned nextAfterId as afterId to fetch the next page",
+            parameters = {
+                    @Parameter(name = "afterId", description = "Return places with an id greater than this one", example = "0"),
+                    @Parameter(name = "limit", description = "Page size", example = "100", required = true)
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Returns one page of places",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = PlacePageRecord.class)
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Invalid limit")
+            }
+    )
+    @GetMapping(path = "/places", params = "limit",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
+    public ResponseEntity<PlacePageRecord> listPage(
+            @RequestParam(name = "afterId", required = false) Long afterId,
+            @RequestParam("limit") @Min(1) @Max(1000) int limit
+    ) {
+        var page = this.placeService.listPage(afterId, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(
+            summary = "Search places by label and location",
+            description = "Type-ahead search on the in-memory token index: every word of the query must prefix a word of "
+                    + "the label or location, ignoring case and accents. Results are ordered by id; pass the returned "
+                    + "nextAfterId as afterId to fetch the next page",
+            parameters = {
+                    @Parameter(name = "q", description = "Search text", example = "sion", required = true),
+                    @Parameter(name = "afterId", description = "Return places with an id greater than this one", example = "0"),
+                    @Parameter(name = "limit", description = "Page size", example = "20")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Returns one page of matching places",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = PlaceSearchPageRecord.class)
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Missing query or invalid limit")
+            }
+    )
+    @GetMapping(path = "/places/search",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
+    public ResponseEntity<PlaceSearchPageRecord> search(
+            @RequestParam("q") @NotBlank @Size(max = 200) String query,
+            @RequestParam(name = "afterId", required = false) Long afterId,
+            @RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        var page = this.placeService.search(query, afterId, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(
+            summary = "Stream all places as NDJSON",
+            description = "Writes one place per line while reading the table page by page, so memory stays constant",
+            responses = @ApiResponse(
+                    responseCode = "200", description = "Newline-delimited places",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+            )
+    )
+    @GetMapping(path = "/places/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = out -> {
+            try {
+                this.placeService.forEachPlace(place -> writeLine(out, place));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "List places open at a given day and time",
+            description = "Looks up the in-memory minute-of-week index; an interval ending at 00:00 is open until midnight",
+            parameters = {
+                    @Parameter(name = "day", description = "Day of week", example = "tuesday", required = true),
+                    @Parameter(name = "time", description = "Time in format HH:mm", example = "19:15", required = true)
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Returns the places open at that time",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = PlaceRecord.class))
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Invalid day or time")
+            }
+    )
+    @GetMapping(path = "/places/open-at",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
+    public ResponseEntity<List<PlaceRecord>> findOpenAt(
+            @RequestParam("day") @NotNull String day,
+            @RequestParam("time") @NotNull @DateTimeFormat(pattern = "HH:mm") LocalTime time
+    ) {
+        var list = this.placeService.findOpenAt(day, time);
+        return ResponseEntity.ok(list);
+    }
+
+    @Operation(
+            summary = "List places open during a time window",
+            description = "Queries the indexed opening rows of one day. With mode=whole the intervals must cover "
+                    + "the whole window, back-to-back intervals together, with mode=any an overlap is enough; a window ending at 00:00 runs until midnight",
+            parameters = {
+                    @Parameter(name = "day", description = "Day of week", example = "friday", required = true),
+                    @Parameter(name = "from", description = "Window start in format HH:mm", example = "18:00", required = true),
+                    @Parameter(name = "to", description = "Window end in format HH:mm", example = "22:00", required = true),
+                    @Parameter(name = "mode", description = "whole or any", example = "whole")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Returns the places open in that window",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = PlaceRecord.class))
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Invalid day, time, window or mode")
+            }
+    )
+    @GetMapping(path = "/places/open-between",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
+    public ResponseEntity<List<PlaceRecord>> findOpenBetween(
+            @RequestParam("day") @NotNull String day,
+            @RequestParam("from") @NotNull @DateTimeFormat(pattern = "HH:mm") LocalTime from,
+            @RequestParam("to") @NotNull @DateTimeFormat(pattern = "HH:mm") LocalTime to,
+            @RequestParam(name = "mode", defaultValue = "whole") String mode
+    ) {
+        var list = this.placeService.findOpenBetween(day, from, to, mode);
+        return ResponseEntity.ok(list);
+    }
+
     @Operation(
             summary = "Get place by ID",
             parameters = {
@@ -94,34 +352,73 @@ public class PlaceController {
                                     schema = @Schema(implementation = PlaceRecord.class)
                             )
                     ),
+                    @ApiResponse(responseCode = "304", description = "Place unchanged since the ETag sent in If-None-Match"),
                     @ApiResponse(responseCode = "404", description = "Place not found")
             }
     )
-    @GetMapping(path = "/places/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(path = "/places/{id}",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
     public ResponseEntity<PlaceRecord> findById(
-            @PathVariable("id") @NotNull Long id
+            @PathVariable("id") @NotNull Long id,
+            @Parameter(hidden = true) WebRequest webRequest
     ) {
-        var place = this.placeService.findById(id);
-        return ResponseEntity.ok(place);
+        if (isNotModified(webRequest, id)) {
+            return null;
+        }
+        return versioned(this.placeService.findById(id));
     }
 
     @Operation(
             summary = "Get grouped opening hours by place ID",
             parameters = @Parameter(name = "id", description = "Place ID", example = "1", required = true),
-            responses = @ApiResponse(
-                    responseCode = "200", description = "Returns grouped opening hours",
-                    content = @Content(
-                            mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            schema = @Schema(implementation = GroupedPlaceRecord.class)
-                    )
-            )
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Returns grouped opening hours",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = GroupedPlaceRecord.class)
+                            )
+                    ),
+                    @ApiResponse(responseCode = "304", description = "Place unchanged since the ETag sent in If-None-Match"),
+                    @ApiResponse(responseCode = "404", description = "Place not found")
+            }
     )
-    @GetMapping(path = "/places/{id}/opening-hours/grouped", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(path = "/places/{id}/opening-hours/grouped",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
     public ResponseEntity<GroupedPlaceRecord> getGroupedOpeningHoursByPlaceId(
-            @PathVariable("id") @NotNull Long id
+            @PathVariable("id") @NotNull Long id,
+            @Parameter(hidden = true) WebRequest webRequest
     ) {
+        if (isNotModified(webRequest, id)) {
+            return null;
+        }
         var dto = this.groupPlaceService.getGroupedOpeningHoursByPlaceId(id);
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok()
+                .eTag(eTag(dto.version()))
+                .lastModified(dto.version().lastModified())
+                .body(dto.grouped());
+    }
+
+    @Operation(
+            summary = "Get grouped opening hours for many places",
+            description = "Loads all requested places with their opening hours in one query and groups them; "
+                    + "unknown ids are marked as not_found instead of failing the batch",
+            parameters = @Parameter(name = "ids", description = "Comma-separated place IDs (at most 1000)", example = "1,2", required = true),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Returns grouped opening hours by place ID",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Missing, invalid or too many ids")
+            }
+    )
+    @GetMapping(path = "/places/opening-hours/grouped",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
+    public ResponseEntity<Map<Long, GroupedPlaceLookupRecord>> getGroupedOpeningHoursByPlaceIds(
+            @RequestParam("ids") @NotNull @Size(min = 1, max = 1000) List<@NotNull Long> ids
+    ) {
+        var grouped = this.groupPlaceService.getGroupedOpeningHoursByPlaceIds(ids);
+        return ResponseEntity.ok(grouped);
     }
 
     @Operation(
@@ -140,25 +437,149 @@ public class PlaceController {
         return ResponseEntity.ok("Place deleted successfully");
     }
 
+    @Operation(
+            summary = "Delete many places at once",
+            description = "Deletes the places with the given ids, or all places last modified before the given instant, "
+                    + "in one transaction with set-based DELETE statements. Ids that do not exist are reported, not fatal.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Deleted ids and requested ids that did not exist",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BulkDeleteRecord.class)
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Neither or both of ids and modifiedBefore, or too many ids")
+            }
+    )
+    @PostMapping(path = "/places/bulk-delete",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
+    public ResponseEntity<BulkDeleteRecord> bulkDelete(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Ids to delete or a last-modified cut-off",
+                    required = true
+            )
+            @Valid @RequestBody BulkDeleteRequestRecord request
+    ) {
+        return ResponseEntity.ok(this.placeService.bulkDelete(request));
+    }
+
     @Operation(
             summary = "Fully update an existing Place resource",
-            description = "Replaces all attributes of a Place, including label, location, and opening hours.",
+            description = "Replaces all attributes of a Place, including label, location, and opening hours. "
+                    + "With If-Match the update only applies to the given ETag; without it a concurrent "
+                    + "update is retried against the latest version.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Resource successfully updated",
+                    @ApiResponse(responseCode = "200", description = "Resource successfully updated, the ETag header holds the new version",
                             content = @Content(mediaType = "application/json")),
                     @ApiResponse(responseCode = "404", description = "Resource not found",
                             content = @Content),
                     @ApiResponse(responseCode = "400", description = "Invalid or malformed request",
+                            content = @Content),
+                    @ApiResponse(responseCode = "409", description = "Still conflicting with concurrent updates after the retries",
+                            content = @Content),
+                    @ApiResponse(responseCode = "412", description = "The place no longer matches the ETag sent in If-Match",
                             content = @Content)
             }
     )
-    @PutMapping(value = "/places", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PutMapping(value = "/places",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
     public ResponseEntity<PlaceRecord> updatePlace(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "The Place resource with updated data",
                     required = true
             )
-            @Valid @RequestBody PlaceRecord updatedPlace) {
-        return ResponseEntity.ok(placeService.updatePlace(updatedPlace));
+            @Valid @RequestBody PlaceRecord updatedPlace,
+            @Parameter(description = "ETag of the version the update is based on", example = "\"1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        this.placeMetrics.recordIntervals(updatedPlace);
+        var expectedVersion = expectedVersion(updatedPlace.id(), ifMatch);
+        return versioned(this.placeService.updatePlace(updatedPlace, expectedVersion));
+    }
+
+    @Operation(
+            summary = "Partially update the opening hours of a place",
+            description = "Replaces the intervals of the listed days only; days not listed are kept and an empty list closes the day. "
+                    + "Unchanged intervals are not rewritten. If-Match is honoured as for PUT.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Opening hours updated",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = PlaceRecord.class))),
+                    @ApiResponse(responseCode = "404", description = "Place not found", content = @Content),
+                    @ApiResponse(responseCode = "400", description = "Invalid or overlapping intervals", content = @Content),
+                    @ApiResponse(responseCode = "409", description = "Still conflicting with concurrent updates after the retries", content = @Content),
+                    @ApiResponse(responseCode = "412", description = "The place no longer matches the ETag sent in If-Match", content = @Content)
+            }
+    )
+    @PatchMapping(path = "/places/{id}/opening-hours",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Config.APPLICATION_SMILE_VALUE })
+    public ResponseEntity<PlaceRecord> patchOpeningHours(
+            @PathVariable("id") @NotNull Long id,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Intervals per day to replace",
+                    required = true
+            )
+            @Valid @RequestBody OpeningHoursPatchRecord patch,
+            @Parameter(description = "ETag of the version the patch is based on", example = "\"1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return versioned(this.placeService.patchOpeningHours(id, patch, expectedVersion(id, ifMatch)));
+    }
+
+    /**
+     * Turns If-Match into the version the write must find; a missing header or "*" sets no
+     * condition. If-Match uses the strong comparison, so weak ETags and ETags of another place
+     * can never match and fail the precondition right away.
+     */
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var value = ifMatch.trim();
+        var prefix = "\"" + id + "-";
+        if (value.startsWith(prefix) && value.endsWith("\"") && value.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(value.substring(prefix.length(), value.length() - 1));
+            } catch (NumberFormatException e) {
+                // falls through to the failed precondition
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match place " + id + ": " + value);
+    }
+
+    private static ResponseEntity<PlaceRecord> versioned(VersionedPlaceRecord record) {
+        return ResponseEntity.ok()
+                .eTag(eTag(record.version()))
+                .lastModified(record.version().lastModified())
+                .body(record.place());
+    }
+
+    /**
+     * Checks If-None-Match / If-Modified-Since against the version columns only; on a match
+     * the 304 status and validators are already set on the response. Unconditional requests
+     * skip the version lookup: their ETag is taken from the body's own version instead.
+     */
+    private boolean isNotModified(WebRequest webRequest, Long id) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+                && webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null) {
+            return false;
+        }
+        var version = this.placeService.findVersionById(id);
+        return webRequest.checkNotModified(eTag(version), version.lastModified().toEpochMilli());
+    }
+
+    private static String eTag(PlaceVersionRecord version) {
+        return "\"" + version.id() + "-" + version.version() + "\"";
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(this.lineWriter.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -3,7 +3,10 @@ package com.demo.aerztekasse.entity;
 import java.time.DayOfWeek;
 
 import com.demo.aerztekasse.entity.Deserializer.DayOfWeekDeserializer;
+import com.demo.aerztekasse.entity.Deserializer.EndMinuteOfDayDeserializer;
+import com.demo.aerztekasse.entity.Deserializer.MinuteOfDayDeserializer;
 import com.demo.aerztekasse.entity.Serializer.DayOfWeekSerializer;
+import com.demo.aerztekasse.entity.Serializer.MinuteOfDaySerializer;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -15,6 +18,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,7 +34,8 @@ import lombok.NoArgsConstructor;
 public class DayOpening {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "day_opening_seq")
+    @SequenceGenerator(name = "day_opening_seq", sequenceName = "day_opening_seq", allocationSize = 50)
     private Long id;
 
     @JsonFormat(shape = JsonFormat.Shape.NUMBER_INT)
@@ -43,11 +48,22 @@ public class DayOpening {
     @JoinColumn(name = "place_id", nullable = false)
     private Place place;
 
-    @Column(name = "start_time", nullable = false)
-    private String startTime;
+    /**
+     * Minute of the day the interval opens, 0 - 1439.
+     */
+    @JsonSerialize(using = MinuteOfDaySerializer.class)
+    @JsonDeserialize(using = MinuteOfDayDeserializer.class)
+    @Column(name = "start_minute", nullable = false, columnDefinition = "SMALLINT")
+    private Integer startMinute;
 
-    @Column(name = "end_time", nullable = false)
-    private String endTime;
+    /**
+     * Minute of the day the interval closes, 1 - 1440; an "00:00" end is stored as 1440
+     * so that every interval satisfies start &lt; end.
+     */
+    @JsonSerialize(using = MinuteOfDaySerializer.class)
+    @JsonDeserialize(using = EndMinuteOfDayDeserializer.class)
+    @Column(name = "end_minute", nullable = false, columnDefinition = "SMALLINT")
+    private Integer endMinute;
 
     @Column(name = "opening_type")
     private String type;
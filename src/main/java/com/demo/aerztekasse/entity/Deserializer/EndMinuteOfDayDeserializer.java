@@ -0,0 +1,11 @@
+package com.demo.aerztekasse.entity.Deserializer;
+
+import com.demo.aerztekasse.helper.TimeHelper;
+
+public class EndMinuteOfDayDeserializer extends MinuteOfDayDeserializer {
+
+    @Override
+    protected int toMinute(String input) {
+        return TimeHelper.toEndMinuteOfDay(input);
+    }
+}
@@ -0,0 +1,26 @@
+package com.demo.aerztekasse.entity.Deserializer;
+
+import java.io.IOException;
+import java.time.format.DateTimeParseException;
+
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+public class MinuteOfDayDeserializer extends JsonDeserializer<Integer> {
+
+    @Override
+    public Integer deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        var input = p.getText().trim();
+        try {
+            return toMinute(input);
+        } catch (DateTimeParseException e) {
+            throw new IOException("Invalid time: " + input, e);
+        }
+    }
+
+    protected int toMinute(String input) {
+        return TimeHelper.toMinuteOfDay(input);
+    }
+}
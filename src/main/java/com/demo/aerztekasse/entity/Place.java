@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.List;
 
 @Data
@@ -16,14 +17,28 @@ import java.util.List;
 @Table
 public class Place {
 
+    /**
+     * Drawn from place_seq unless already assigned; see {@link PlaceIdGenerator}.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PlaceIdSequence
     private Long id;
 
     private String label;
     private String location;
 
-    @OneToMany(mappedBy = "place", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    /**
+     * Optimistic lock column: Hibernate increments it with every update and rejects a flush
+     * whose row was changed in between. Together with the id it forms the ETag of the place.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private Instant lastModified;
+
+    @OneToMany(mappedBy = "place", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<DayOpening> days;
 
 }
@@ -0,0 +1,45 @@
+package com.demo.aerztekasse.entity;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import com.demo.aerztekasse.helper.SequenceHelper;
+
+/**
+ * PLACE_SEQ generator that keeps an id already set on a new place. With sharding enabled
+ * {@link com.demo.aerztekasse.shard.PlaceShards} assigns ids before the insert, because the id
+ * decides which shard the place is written to; otherwise ids come from the sequence as before.
+ */
+public class PlaceIdGenerator extends SequenceStyleGenerator {
+
+    private static final String SEQUENCE_NAME = "place_seq";
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.setProperty(SEQUENCE_PARAM, SEQUENCE_NAME);
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(SequenceHelper.SEQUENCE_INCREMENT));
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    /**
+     * Lets a place that already carries an id be persisted as new instead of being taken for
+     * a detached entity.
+     */
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (object instanceof Place place && place.getId() != null) {
+            return place.getId();
+        }
+        return super.generate(session, object);
+    }
+}
@@ -0,0 +1,17 @@
+package com.demo.aerztekasse.entity;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates the place id with {@link PlaceIdGenerator}.
+ */
+@IdGeneratorType(PlaceIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PlaceIdSequence {
+}
@@ -0,0 +1,21 @@
+package com.demo.aerztekasse.entity.Serializer;
+
+import java.io.IOException;
+
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+public class MinuteOfDaySerializer extends JsonSerializer<Integer> {
+
+    @Override
+    public void serialize(Integer value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+
+        gen.writeString(TimeHelper.format(value));
+    }
+}
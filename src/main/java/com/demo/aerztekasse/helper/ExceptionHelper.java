@@ -5,6 +5,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -13,6 +14,7 @@ import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
@@ -71,4 +73,15 @@ public class ExceptionHelper extends ResponseEntityExceptionHandler {
         ErrorResponse error = new ErrorResponse("Malformed JSON or unreadable request", details);
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
+
+    /**
+     * A write that lost an optimistic version check against a concurrent one and was not
+     * retried by the service (e.g. a delete racing an update).
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    protected ResponseEntity<Object> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        List<String> details = List.of(ex.getMostSpecificCause().getMessage());
+        ErrorResponse error = new ErrorResponse("Conflict", details);
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
 }
@@ -0,0 +1,76 @@
+package com.demo.aerztekasse.helper;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public final class SequenceHelper {
+
+    /**
+     * Ids are generated by pooled sequences with this increment: Hibernate hands out the block
+     * ending at the fetched value, so a restarted sequence must start one full block above the
+     * highest existing id.
+     */
+    public static final int SEQUENCE_INCREMENT = 50;
+
+    private SequenceHelper() {
+    }
+
+    public static void restart(Connection connection, String sequence, long maxId) throws SQLException {
+        restart(connection, sequence, maxId, 0);
+    }
+
+    /**
+     * Restarts the sequence past {@code maxId} and at least at {@code highWater}, a next value
+     * recorded earlier, so ids handed out before and deleted since are not issued again.
+     */
+    public static void restart(Connection connection, String sequence, long maxId, long highWater) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH "
+                    + Math.max(maxId + SEQUENCE_INCREMENT + 1, highWater));
+        }
+    }
+
+    /**
+     * Restarts the sequence at {@code floor} unless it already stands at or beyond it.
+     */
+    public static void restartAtLeast(Connection connection, String sequence, long floor) throws SQLException {
+        if (nextValue(connection, sequence) >= floor) {
+            return;
+        }
+        try (var statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + floor);
+        }
+    }
+
+    /**
+     * Returns the value the sequence hands out next; every id it issued so far lies below it.
+     */
+    public static long nextValue(Connection connection, String sequence) throws SQLException {
+        try (var statement = connection.prepareStatement(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?")) {
+            statement.setString(1, sequence);
+            try (var result = statement.executeQuery()) {
+                return result.next() ? result.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Moves PLACE_SEQ past the highest place id stored or {@code placeIdHighWater}, whichever
+     * is higher, and DAY_OPENING_SEQ past the highest opening id stored. A sequence that
+     * already stands beyond, e.g. restarted from a snapshot, is left alone.
+     */
+    public static void restartPastMaxIds(Connection connection, long placeIdHighWater) throws SQLException {
+        var maxPlaceId = Math.max(maxId(connection, "PLACE"), placeIdHighWater);
+        restartAtLeast(connection, "PLACE_SEQ", maxPlaceId + SEQUENCE_INCREMENT + 1);
+        restartAtLeast(connection, "DAY_OPENING_SEQ", maxId(connection, "DAY_OPENING") + SEQUENCE_INCREMENT + 1);
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (var statement = connection.createStatement();
+             var result = statement.executeQuery("SELECT COALESCE(MAX(ID), 0) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.demo.aerztekasse.helper;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class TextHelper {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextHelper() {
+    }
+
+    /**
+     * Lower-cases and folds accents, so "Marché" and "Zürich" match "marche" and "zurich".
+     */
+    public static String normalize(String text) {
+        var decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits normalized text on everything that is not a letter or digit; duplicates are
+     * dropped and the first-seen order is kept.
+     */
+    public static Set<String> tokenize(String text) {
+        var tokens = new LinkedHashSet<String>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,99 @@
+package com.demo.aerztekasse.helper;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class TimeHelper {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    /**
+     * The minute of day of each of the 1440 "HH:mm" times, resolved once at class load. The
+     * field validators, the overlap check and the mapper all look a time up here instead of
+     * parsing it again.
+     */
+    private static final Map<String, Integer> MINUTES_BY_TIME = minutesByTime();
+
+    private TimeHelper() {
+    }
+
+    /**
+     * Resolves an "HH:mm" time through the lookup table; anything else goes through the
+     * formatter, which accepts or rejects it as before.
+     */
+    public static int toMinuteOfDay(String time) {
+        var minute = MINUTES_BY_TIME.get(time);
+        return minute != null ? minute : toMinuteOfDay(LocalTime.parse(time, FORMATTER));
+    }
+
+    /**
+     * Whether the text is one of the "HH:mm" times of the lookup table.
+     */
+    public static boolean isTime(String time) {
+        return MINUTES_BY_TIME.containsKey(time);
+    }
+
+    public static int toMinuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * An end time of "00:00" closes the interval at midnight, i.e. at the end of the day
+     * (see StartBeforeEndValidator), so it maps to {@link #MINUTES_PER_DAY} instead of 0.
+     */
+    public static int toEndMinuteOfDay(String time) {
+        var minute = toMinuteOfDay(time);
+        return minute == 0 ? MINUTES_PER_DAY : minute;
+    }
+
+    /**
+     * Formats a minute of the day as "HH:mm"; the midnight end {@link #MINUTES_PER_DAY}
+     * is written back as "00:00".
+     */
+    public static String format(int minuteOfDay) {
+        var chars = new char[5];
+        writeTime(chars, 0, minuteOfDay);
+        return new String(chars);
+    }
+
+    /**
+     * Formats an interval as "HH:mm - HH:mm" in a single allocation.
+     */
+    public static String formatInterval(int startMinute, int endMinute) {
+        var chars = new char[13];
+        writeTime(chars, 0, startMinute);
+        chars[5] = ' ';
+        chars[6] = '-';
+        chars[7] = ' ';
+        writeTime(chars, 8, endMinute);
+        return new String(chars);
+    }
+
+    private static void writeTime(char[] chars, int offset, int minuteOfDay) {
+        var hour = (minuteOfDay / 60) % 24;
+        var minute = minuteOfDay % 60;
+        chars[offset] = (char) ('0' + hour / 10);
+        chars[offset + 1] = (char) ('0' + hour % 10);
+        chars[offset + 2] = ':';
+        chars[offset + 3] = (char) ('0' + minute / 10);
+        chars[offset + 4] = (char) ('0' + minute % 10);
+    }
+
+    private static Map<String, Integer> minutesByTime() {
+        var minutes = new HashMap<String, Integer>(2 * MINUTES_PER_DAY);
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            minutes.put(format(minute), minute);
+        }
+        return Map.copyOf(minutes);
+    }
+
+    public static int toMinuteOfWeek(DayOfWeek day, int minuteOfDay) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + minuteOfDay;
+    }
+}
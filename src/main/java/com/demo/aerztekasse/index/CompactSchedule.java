@@ -0,0 +1,180 @@
+package com.demo.aerztekasse.index;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.demo.aerztekasse.entity.DayOpening;
+import com.demo.aerztekasse.helper.TimeHelper;
+
+/**
+ * Immutable weekly schedule packed into a single {@code int[]}, one int per interval:
+ * <pre>
+ *  31..28  27..17        16..6       5..0
+ *  day     start minute  end minute  type code
+ * </pre>
+ * The day ordinal (0 = MONDAY) sits in the high bits and stays below 8, so the packed values
+ * are positive and sorting them orders the intervals by day, start and end. Opening types
+ * are interned into a small shared dictionary (code 0 is {@code null}). Types are free text,
+ * so once the dictionary is full further types get the overflow code and are kept by the
+ * schedule itself, one string per interval, which keeps the encoding unbounded.
+ * <p>
+ * A schedule costs one object plus 4 bytes per interval, instead of a list of DayOpening
+ * entities with boxed minutes, type strings and a back-reference to their place, which makes
+ * it the storage of choice for indexes and caches that keep every place's hours in memory.
+ */
+public final class CompactSchedule {
+
+    public static final CompactSchedule EMPTY = new CompactSchedule(new int[0]);
+
+    private static final int DAY_SHIFT = 28;
+    private static final int START_SHIFT = 17;
+    private static final int END_SHIFT = 6;
+    private static final int MINUTE_MASK = 0x7FF;
+    private static final int TYPE_MASK = 0x3F;
+    private static final int OVERFLOW_TYPE = TYPE_MASK;
+
+    private static final Map<String, Integer> TYPE_CODES = new ConcurrentHashMap<>();
+    private static volatile String[] types = { null };
+
+    private final int[] entries;
+    private final String[] overflowTypes;
+
+    private CompactSchedule(int[] entries) {
+        this(entries, null);
+    }
+
+    private CompactSchedule(int[] entries, String[] overflowTypes) {
+        this.entries = entries;
+        this.overflowTypes = overflowTypes;
+    }
+
+    public static CompactSchedule of(List<DayOpening> days) {
+        if (days == null || days.isEmpty()) {
+            return EMPTY;
+        }
+        var entries = new int[days.size()];
+        var overflow = false;
+        for (int i = 0; i < entries.length; i++) {
+            var opening = days.get(i);
+            entries[i] = pack(opening.getDayOfWeek(), opening.getStartMinute(), opening.getEndMinute(), opening.getType());
+            overflow |= (entries[i] & TYPE_MASK) == OVERFLOW_TYPE;
+        }
+        if (!overflow) {
+            Arrays.sort(entries);
+            return new CompactSchedule(entries);
+        }
+        return withOverflowTypes(days, entries);
+    }
+
+    /**
+     * Sorts the entries together with the types that did not fit the dictionary; equal
+     * entries are ordered by type, so equal schedules stay equal.
+     */
+    private static CompactSchedule withOverflowTypes(List<DayOpening> days, int[] packed) {
+        var order = new Integer[packed.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> packed[i])
+                .thenComparing(i -> overflowType(packed[i], days.get(i).getType()),
+                        Comparator.nullsFirst(Comparator.naturalOrder())));
+        var entries = new int[packed.length];
+        var overflowTypes = new String[packed.length];
+        for (int i = 0; i < order.length; i++) {
+            entries[i] = packed[order[i]];
+            overflowTypes[i] = overflowType(entries[i], days.get(order[i]).getType());
+        }
+        return new CompactSchedule(entries, overflowTypes);
+    }
+
+    private static String overflowType(int entry, String type) {
+        return (entry & TYPE_MASK) == OVERFLOW_TYPE ? type : null;
+    }
+
+    public static int pack(DayOfWeek day, int startMinute, int endMinute, String type) {
+        if (startMinute < 0 || startMinute > TimeHelper.MINUTES_PER_DAY
+                || endMinute < 0 || endMinute > TimeHelper.MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Minute of day out of range: " + startMinute + " - " + endMinute);
+        }
+        return day.ordinal() << DAY_SHIFT
+                | startMinute << START_SHIFT
+                | endMinute << END_SHIFT
+                | typeCode(type);
+    }
+
+    public int size() {
+        return this.entries.length;
+    }
+
+    public boolean isEmpty() {
+        return this.entries.length == 0;
+    }
+
+    public DayOfWeek dayOfWeek(int index) {
+        return DayOfWeek.of((this.entries[index] >>> DAY_SHIFT) + 1);
+    }
+
+    public int startMinute(int index) {
+        return this.entries[index] >>> START_SHIFT & MINUTE_MASK;
+    }
+
+    public int endMinute(int index) {
+        return this.entries[index] >>> END_SHIFT & MINUTE_MASK;
+    }
+
+    public String type(int index) {
+        var code = this.entries[index] & TYPE_MASK;
+        return code == OVERFLOW_TYPE ? this.overflowTypes[index] : types[code];
+    }
+
+    public int startMinuteOfWeek(int index) {
+        return TimeHelper.toMinuteOfWeek(dayOfWeek(index), startMinute(index));
+    }
+
+    public int endMinuteOfWeek(int index) {
+        return TimeHelper.toMinuteOfWeek(dayOfWeek(index), endMinute(index));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other
+                || other instanceof CompactSchedule schedule && Arrays.equals(this.entries, schedule.entries)
+                && Arrays.equals(this.overflowTypes, schedule.overflowTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(this.entries) + Arrays.hashCode(this.overflowTypes);
+    }
+
+    private static int typeCode(String type) {
+        if (type == null) {
+            return 0;
+        }
+        var code = TYPE_CODES.get(type);
+        if (code != null) {
+            return code;
+        }
+        return types.length == OVERFLOW_TYPE ? OVERFLOW_TYPE : registerType(type);
+    }
+
+    private static synchronized int registerType(String type) {
+        var code = TYPE_CODES.get(type);
+        if (code != null) {
+            return code;
+        }
+        if (types.length == OVERFLOW_TYPE) {
+            return OVERFLOW_TYPE;
+        }
+        code = types.length;
+        var extended = Arrays.copyOf(types, code + 1);
+        extended[code] = type;
+        types = extended;
+        TYPE_CODES.put(type, code);
+        return code;
+    }
+}
@@ -0,0 +1,154 @@
+package com.demo.aerztekasse.index;
+
+import static com.demo.aerztekasse.helper.TimeHelper.MINUTES_PER_WEEK;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.demo.aerztekasse.repository.PlaceRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory minute-of-week index answering "which places are open at day/time".
+ * <p>
+ * Every place gets a dense ordinal, and each of the 10,080 minutes of the week owns a
+ * bitmap of the ordinals open during that minute, so a lookup is a single bitmap read
+ * instead of a scan over all places and their opening rows.
+ * <p>
+ * Writes may arrive out of order (concurrent publishes, the startup load racing a write), so
+ * a place is only replaced by a version at least as new, and a removed place leaves a
+ * tombstone that turns away later puts; place ids are never reused. The tombstone lasts
+ * until the writes and the startup load that were running at the removal have finished.
+ */
+@Slf4j
+@Component
+public class OpeningHoursIndex {
+
+    private final PlaceRepository repository;
+    private final WriteWatermark watermark;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet[] slots = new BitSet[MINUTES_PER_WEEK];
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<Long, CompactSchedule> schedules = new HashMap<>();
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final Tombstones removed;
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private long[] idsByOrdinal = new long[1024];
+    private int nextOrdinal;
+
+    public OpeningHoursIndex(PlaceRepository repository, WriteWatermark watermark) {
+        this.repository = repository;
+        this.watermark = watermark;
+        this.removed = new Tombstones(watermark);
+        for (int i = 0; i < MINUTES_PER_WEEK; i++) {
+            this.slots[i] = new BitSet();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        var places = this.watermark.track(() -> {
+            var loaded = this.repository.findAll();
+            loaded.forEach(this::put);
+            return loaded;
+        });
+        log.info("Opening hours index loaded with {} places", places.size());
+    }
+
+    public void put(Place place) {
+        var schedule = CompactSchedule.of(place.getDays());
+        this.lock.writeLock().lock();
+        try {
+            var current = this.versions.get(place.getId());
+            if (this.removed.contains(place.getId()) || current != null && current > place.getVersion()) {
+                return;
+            }
+            removeInternal(place.getId());
+            this.versions.put(place.getId(), place.getVersion());
+            var ordinal = allocateOrdinal(place.getId());
+            for (int i = 0; i < schedule.size(); i++) {
+                var end = schedule.endMinuteOfWeek(i);
+                for (int minute = schedule.startMinuteOfWeek(i); minute < end; minute++) {
+                    this.slots[minute].set(ordinal);
+                }
+            }
+            this.schedules.put(place.getId(), schedule);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        this.lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            this.versions.remove(id);
+            this.removed.add(id);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> openAt(DayOfWeek day, LocalTime time) {
+        var minute = TimeHelper.toMinuteOfWeek(day, TimeHelper.toMinuteOfDay(time));
+        this.lock.readLock().lock();
+        try {
+            var open = this.slots[minute];
+            var ids = new long[open.cardinality()];
+            var n = 0;
+            for (int ordinal = open.nextSetBit(0); ordinal >= 0; ordinal = open.nextSetBit(ordinal + 1)) {
+                ids[n++] = this.idsByOrdinal[ordinal];
+            }
+            Arrays.sort(ids);
+            return Arrays.stream(ids).boxed().toList();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(Long id) {
+        var ordinal = this.ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        var schedule = this.schedules.remove(id);
+        for (int i = 0; i < schedule.size(); i++) {
+            var end = schedule.endMinuteOfWeek(i);
+            for (int minute = schedule.startMinuteOfWeek(i); minute < end; minute++) {
+                this.slots[minute].clear(ordinal);
+            }
+        }
+        this.freeOrdinals.push(ordinal);
+    }
+
+    private int allocateOrdinal(Long id) {
+        int ordinal;
+        if (this.freeOrdinals.isEmpty()) {
+            ordinal = this.nextOrdinal++;
+            if (ordinal == this.idsByOrdinal.length) {
+                this.idsByOrdinal = Arrays.copyOf(this.idsByOrdinal, ordinal * 2);
+            }
+        } else {
+            ordinal = this.freeOrdinals.pop();
+        }
+        this.idsByOrdinal[ordinal] = id;
+        this.ordinals.put(id, ordinal);
+        return ordinal;
+    }
+}
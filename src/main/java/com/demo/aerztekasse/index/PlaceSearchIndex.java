@@ -0,0 +1,293 @@
+package com.demo.aerztekasse.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.helper.TextHelper;
+import com.demo.aerztekasse.records.PlaceSearchHitRecord;
+import com.demo.aerztekasse.records.PlaceSearchPageRecord;
+import com.demo.aerztekasse.repository.PlaceRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index over the normalized tokens of label and location.
+ * <p>
+ * Tokens are kept in a sorted map, so every token starting with a query term is one
+ * contiguous sub-map; each token points to the ascending ids of the places containing it.
+ * A search merges the postings of the most selective query term lazily in id order, starting
+ * after the requested id, and checks the remaining terms against the tokens of each candidate.
+ * Every term is a prefix match, the results stay in id order for keyset pagination, and a page
+ * reads only as many candidates as it needs instead of the whole union.
+ * <p>
+ * Like the opening hours index, a place is only replaced by a version at least as new and a
+ * removed place leaves a tombstone for as long as the writes running at the removal. Hits of
+ * the startup load carry no version and yield to any published write.
+ */
+@Slf4j
+@Component
+public class PlaceSearchIndex {
+
+    private static final long UNVERSIONED = -1;
+
+    private final PlaceRepository repository;
+    private final WriteWatermark watermark;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Posting> postings = new TreeMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Tombstones removed;
+
+    public PlaceSearchIndex(PlaceRepository repository, WriteWatermark watermark) {
+        this.repository = repository;
+        this.watermark = watermark;
+        this.removed = new Tombstones(watermark);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        var hits = this.watermark.track(() -> {
+            var loaded = this.repository.findAllSearchHits();
+            loaded.forEach(this::put);
+            return loaded;
+        });
+        log.info("Search index loaded with {} places and {} tokens", hits.size(), this.postings.size());
+    }
+
+    public void put(Place place) {
+        put(new PlaceSearchHitRecord(place.getId(), place.getLabel(), place.getLocation()), place.getVersion());
+    }
+
+    /**
+     * Adds a hit without a version, as read by the startup load; any versioned put of the
+     * same place replaces it.
+     */
+    public void put(PlaceSearchHitRecord hit) {
+        put(hit, UNVERSIONED);
+    }
+
+    private void put(PlaceSearchHitRecord hit, long version) {
+        var tokens = TextHelper.tokenize(hit.label());
+        tokens.addAll(TextHelper.tokenize(hit.location()));
+        var entry = new Entry(hit, tokens.toArray(String[]::new), version);
+        this.lock.writeLock().lock();
+        try {
+            var current = this.entries.get(hit.id());
+            if (this.removed.contains(hit.id()) || current != null && current.version() > version) {
+                return;
+            }
+            removeInternal(hit.id());
+            for (String token : entry.tokens()) {
+                this.postings.computeIfAbsent(token, t -> new Posting()).add(hit.id());
+            }
+            this.entries.put(hit.id(), entry);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        this.lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            this.removed.add(id);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the places whose label or location has a token starting with every term of
+     * the query, ordered by id and starting after {@code afterId}.
+     */
+    public PlaceSearchPageRecord search(String query, Long afterId, int limit) {
+        var terms = TextHelper.tokenize(query).toArray(String[]::new);
+        if (terms.length == 0) {
+            return new PlaceSearchPageRecord(List.of(), null);
+        }
+        var after = afterId == null ? 0L : afterId;
+
+        this.lock.readLock().lock();
+        try {
+            Map<String, Posting> driver = null;
+            var driverSize = Long.MAX_VALUE;
+            for (String term : terms) {
+                var range = prefixRange(term);
+                var size = 0L;
+                for (Posting posting : range.values()) {
+                    size += posting.size;
+                }
+                if (size == 0) {
+                    return new PlaceSearchPageRecord(List.of(), null);
+                }
+                if (size < driverSize) {
+                    driver = range;
+                    driverSize = size;
+                }
+            }
+
+            var candidates = new PostingMerge(driver.values(), after);
+            var hits = new ArrayList<PlaceSearchHitRecord>((int) Math.min(limit, driverSize));
+            for (long id = candidates.next(); id != PostingMerge.END; id = candidates.next()) {
+                var entry = this.entries.get(id);
+                if (!matchesAll(entry.tokens(), terms)) {
+                    continue;
+                }
+                if (hits.size() == limit) {
+                    return new PlaceSearchPageRecord(hits, hits.getLast().id());
+                }
+                hits.add(entry.hit());
+            }
+            return new PlaceSearchPageRecord(hits, null);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private NavigableMap<String, Posting> prefixRange(String term) {
+        return this.postings.subMap(term, true, term + Character.MAX_VALUE, false);
+    }
+
+    private static boolean matchesAll(String[] tokens, String[] terms) {
+        for (String term : terms) {
+            var matched = false;
+            for (String token : tokens) {
+                if (token.startsWith(term)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeInternal(Long id) {
+        var entry = this.entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String token : entry.tokens()) {
+            var posting = this.postings.get(token);
+            if (posting != null && posting.remove(id) && posting.size == 0) {
+                this.postings.remove(token);
+            }
+        }
+    }
+
+    private record Entry(PlaceSearchHitRecord hit, String[] tokens, long version) {
+    }
+
+    /**
+     * Ascending ids of the places containing a token. Ids mostly arrive in ascending order
+     * (startup load, new places), which makes an insert an append.
+     */
+    private static final class Posting {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            var index = this.size == 0 || this.ids[this.size - 1] < id ? -this.size - 1 : Arrays.binarySearch(this.ids, 0, this.size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            }
+            System.arraycopy(this.ids, index, this.ids, index + 1, this.size - index);
+            this.ids[index] = id;
+            this.size++;
+        }
+
+        boolean remove(long id) {
+            var index = Arrays.binarySearch(this.ids, 0, this.size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(this.ids, index + 1, this.ids, index, this.size - index - 1);
+            this.size--;
+            return true;
+        }
+    }
+
+    /**
+     * Walks the union of several postings in ascending id order without materializing it.
+     * Each posting is entered by binary search after the start id; a heap keyed by the
+     * current id of each posting yields the next id, and ids shared by several postings
+     * come out once.
+     */
+    private static final class PostingMerge {
+
+        static final long END = Long.MIN_VALUE;
+
+        private final PriorityQueue<Cursor> heap;
+
+        PostingMerge(Collection<Posting> postings, long after) {
+            this.heap = new PriorityQueue<>(postings.size(), Comparator.comparingLong(Cursor::current));
+            for (Posting posting : postings) {
+                var from = Arrays.binarySearch(posting.ids, 0, posting.size, after);
+                var cursor = new Cursor(posting, from < 0 ? -from - 1 : from + 1);
+                if (cursor.hasCurrent()) {
+                    this.heap.add(cursor);
+                }
+            }
+        }
+
+        long next() {
+            var cursor = this.heap.poll();
+            if (cursor == null) {
+                return END;
+            }
+            var id = cursor.current();
+            advance(cursor);
+            while (!this.heap.isEmpty() && this.heap.peek().current() == id) {
+                advance(this.heap.poll());
+            }
+            return id;
+        }
+
+        private void advance(Cursor cursor) {
+            cursor.index++;
+            if (cursor.hasCurrent()) {
+                this.heap.add(cursor);
+            }
+        }
+    }
+
+    private static final class Cursor {
+
+        private final Posting posting;
+        private int index;
+
+        Cursor(Posting posting, int index) {
+            this.posting = posting;
+            this.index = index;
+        }
+
+        boolean hasCurrent() {
+            return this.index < this.posting.size;
+        }
+
+        long current() {
+            return this.posting.ids[this.index];
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.demo.aerztekasse.index;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ids of removed places that a stale put must not bring back. Each tombstone is stamped with
+ * the last ticket of the {@link WriteWatermark} when the place is removed and dropped once
+ * all work up to that ticket has finished, so the set only holds the removals of the last
+ * in-flight writes instead of every delete since startup.
+ * <p>
+ * Not thread-safe: owners call it under their write lock.
+ */
+public class Tombstones {
+
+    private final WriteWatermark watermark;
+    private final Map<Long, Long> stamps = new HashMap<>();
+    private final Deque<Long> order = new ArrayDeque<>();
+
+    public Tombstones(WriteWatermark watermark) {
+        this.watermark = watermark;
+    }
+
+    public void add(Long id) {
+        prune();
+        if (this.stamps.put(id, this.watermark.issued()) == null) {
+            this.order.add(id);
+        }
+    }
+
+    public boolean contains(Long id) {
+        prune();
+        return this.stamps.containsKey(id);
+    }
+
+    /**
+     * Drops tombstones from the oldest on. A place removed twice keeps its place in line with
+     * the later stamp, which at worst holds back younger tombstones a little longer.
+     */
+    private void prune() {
+        if (this.order.isEmpty()) {
+            return;
+        }
+        var low = this.watermark.low();
+        while (!this.order.isEmpty() && this.stamps.get(this.order.peek()) < low) {
+            this.stamps.remove(this.order.poll());
+        }
+    }
+}
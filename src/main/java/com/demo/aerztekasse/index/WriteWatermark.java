@@ -0,0 +1,60 @@
+package com.demo.aerztekasse.index;
+
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Numbers the work that may hand places to the in-memory views: every write, from before its
+ * transaction starts until its publish is done, and every startup load. A removed place only
+ * needs a tombstone while work that began before the removal is still running, because only
+ * that work can have read the place before its delete committed; {@link #low()} says when
+ * all of it has finished.
+ */
+@Component
+public class WriteWatermark {
+
+    private final TreeSet<Long> running = new TreeSet<>();
+    private long issued;
+
+    public <T> T track(Supplier<T> work) {
+        var ticket = begin();
+        try {
+            return work.get();
+        } finally {
+            end(ticket);
+        }
+    }
+
+    public void track(Runnable work) {
+        track(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * The ticket of the work issued last; a tombstone stamped with it may go once
+     * {@link #low()} has passed it.
+     */
+    public synchronized long issued() {
+        return this.issued;
+    }
+
+    /**
+     * The oldest ticket still running, or the next one to be issued if nothing runs.
+     */
+    public synchronized long low() {
+        return this.running.isEmpty() ? this.issued + 1 : this.running.first();
+    }
+
+    private synchronized long begin() {
+        this.running.add(++this.issued);
+        return this.issued;
+    }
+
+    private synchronized void end(long ticket) {
+        this.running.remove(ticket);
+    }
+}
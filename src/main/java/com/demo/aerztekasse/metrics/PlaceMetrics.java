@@ -0,0 +1,69 @@
+package com.demo.aerztekasse.metrics;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.demo.aerztekasse.records.PlaceRecord;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters that the request, service (@Timed) and repository timers cannot see: the size of
+ * write payloads and the time spent grouping opening hours, which separates the grouping
+ * from the repository call and the JSON serialization of /places/{id}/opening-hours/grouped.
+ */
+@Component
+public class PlaceMetrics {
+
+    public static final String SERVICE_TIMER = "places.service";
+
+    private final DistributionSummary placesPerRequest;
+    private final DistributionSummary intervalsPerPlace;
+    private final Timer grouping;
+    private final Counter updateConflicts;
+
+    public PlaceMetrics(MeterRegistry registry) {
+        this.placesPerRequest = DistributionSummary.builder("places.payload.places")
+                .description("Places per create or import request")
+                .baseUnit("places")
+                .register(registry);
+        this.intervalsPerPlace = DistributionSummary.builder("places.payload.intervals")
+                .description("Opening intervals per written place")
+                .baseUnit("intervals")
+                .register(registry);
+        this.grouping = Timer.builder("places.grouping")
+                .description("Time spent grouping the opening hours of places")
+                .register(registry);
+        this.updateConflicts = Counter.builder("places.update.conflicts")
+                .description("Place updates that lost an optimistic version check against a concurrent write")
+                .register(registry);
+    }
+
+    public void recordPayload(List<PlaceRecord> places) {
+        this.placesPerRequest.record(places.size());
+        places.forEach(this::recordIntervals);
+    }
+
+    public void recordIntervals(PlaceRecord place) {
+        var intervals = 0;
+        if (place.openingHours() != null && place.openingHours().days() != null) {
+            for (var day : place.openingHours().days().values()) {
+                intervals += day.size();
+            }
+        }
+        this.intervalsPerPlace.record(intervals);
+    }
+
+    public void recordUpdateConflict() {
+        this.updateConflicts.increment();
+    }
+
+    public <T> T timeGrouping(Supplier<T> grouping) {
+        return this.grouping.record(grouping);
+    }
+}
@@ -0,0 +1,119 @@
+package com.demo.aerztekasse.readmodel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.demo.aerztekasse.index.Tombstones;
+import com.demo.aerztekasse.index.WriteWatermark;
+import com.demo.aerztekasse.records.PlaceViewRecord;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional in-memory read model holding the ready-to-serve records of every place, so GET
+ * requests skip JPA entirely. Enabled with {@code aerztekasse.read-model.enabled=true}.
+ * <p>
+ * Views are immutable records in a concurrent sorted map: readers never lock and page by
+ * id directly on the map. PlacePublisher hands in views only after their write committed, and
+ * a view never replaces one with a higher version, so a late startup load or an out-of-order
+ * commit cannot roll a place back. A removed place leaves a tombstone that turns away later
+ * views of it: place ids come from sequences and are never reused, so a view arriving after
+ * the delete can only be a stale page of the startup load or an earlier write. Only work that
+ * was running at the removal can deliver such a view, so the tombstone goes once that work
+ * has finished. Until the startup load finishes, {@link #isReady()} is false and callers read
+ * from the database.
+ */
+@Slf4j
+@Component
+public class PlaceReadModel {
+
+    private final boolean enabled;
+    private final ConcurrentSkipListMap<Long, PlaceViewRecord> views = new ConcurrentSkipListMap<>();
+    private final Tombstones removed;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile boolean ready;
+
+    public PlaceReadModel(@Value("${aerztekasse.read-model.enabled:false}") boolean enabled,
+                          WriteWatermark watermark) {
+        this.enabled = enabled;
+        this.removed = new Tombstones(watermark);
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public boolean isReady() {
+        return this.ready;
+    }
+
+    public void markReady() {
+        if (this.enabled) {
+            this.ready = true;
+            log.info("Read model ready with {} places", this.views.size());
+        }
+    }
+
+    public Optional<PlaceViewRecord> get(Long id) {
+        return Optional.ofNullable(this.views.get(id));
+    }
+
+    public Collection<PlaceViewRecord> all() {
+        return this.views.values();
+    }
+
+    public List<PlaceViewRecord> page(Long afterId, int limit) {
+        var page = new ArrayList<PlaceViewRecord>(Math.min(limit, 1024));
+        for (PlaceViewRecord view : this.views.tailMap(afterId == null ? 0L : afterId, false).values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(view);
+        }
+        return page;
+    }
+
+    public void put(PlaceViewRecord view) {
+        if (!this.enabled) {
+            return;
+        }
+        write(() -> {
+            var id = view.version().id();
+            var current = this.views.get(id);
+            if (!this.removed.contains(id)
+                    && (current == null || view.version().version() >= current.version().version())) {
+                this.views.put(id, view);
+            }
+        });
+    }
+
+    public void remove(Long id) {
+        if (!this.enabled) {
+            return;
+        }
+        write(() -> {
+            this.removed.add(id);
+            this.views.remove(id);
+        });
+    }
+
+    /**
+     * Serializes writers, so the version and tombstone check and the write it guards happen
+     * as one step; readers never take the lock.
+     */
+    private void write(Runnable action) {
+        this.writeLock.lock();
+        try {
+            action.run();
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+}
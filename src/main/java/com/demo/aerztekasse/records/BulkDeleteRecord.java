@@ -0,0 +1,12 @@
+package com.demo.aerztekasse.records;
+
+import java.util.List;
+
+public record BulkDeleteRecord(
+
+    int deleted,
+
+    List<Long> ids,
+
+    List<Long> notFound
+) {}
@@ -0,0 +1,19 @@
+package com.demo.aerztekasse.records;
+
+import java.time.Instant;
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Selects the places to delete either by id or, for cleanup jobs, by a last-modified cut-off;
+ * exactly one of the two must be given.
+ */
+public record BulkDeleteRequestRecord(
+
+    @Size(min = 1, max = 100_000, message = "Provide between 1 and 100000 ids.")
+    List<@NotNull Long> ids,
+
+    Instant modifiedBefore
+) {}
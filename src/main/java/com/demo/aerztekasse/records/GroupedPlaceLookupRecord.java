@@ -0,0 +1,8 @@
+package com.demo.aerztekasse.records;
+
+public record GroupedPlaceLookupRecord(
+
+    String status,
+
+    GroupedPlaceRecord place
+) {}
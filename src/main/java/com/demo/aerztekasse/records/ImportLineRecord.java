@@ -0,0 +1,14 @@
+package com.demo.aerztekasse.records;
+
+import java.util.List;
+
+public record ImportLineRecord(
+
+    long line,
+
+    String status,
+
+    Long id,
+
+    List<String> errors
+) {}
@@ -0,0 +1,23 @@
+package com.demo.aerztekasse.records;
+
+import java.util.List;
+import java.util.Map;
+
+import com.demo.aerztekasse.annotation.NoOverlappingIntervals;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Opening hours of the days to change; days not listed keep their intervals and an empty
+ * list closes the day.
+ */
+@NoOverlappingIntervals
+public record OpeningHoursPatchRecord(
+    @NotNull(message = "Days map cannot be null")
+    @NotEmpty(message = "Days map cannot be empty")
+    @JsonProperty("days")
+    Map<String, @NotNull(message = "Interval list cannot be null") @Valid List<@Valid OpenIntervalRecord>> days
+) {}
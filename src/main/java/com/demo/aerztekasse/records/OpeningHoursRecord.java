@@ -1,17 +1,37 @@
 package com.demo.aerztekasse.records;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.demo.aerztekasse.annotation.NoOverlappingIntervals;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
+@NoOverlappingIntervals
 public record OpeningHoursRecord(
     @NotNull(message = "Days map cannot be null")
     @NotEmpty(message = "Days map cannot be empty")
     @JsonProperty("days")
     Map<String, @NotEmpty(message = "Interval list cannot be empty") @Valid List<@Valid OpenIntervalRecord>> days
-) {}
\ No newline at end of file
+) {
+
+    /**
+     * Keeps an unmodifiable copy in the given day order, so records shared by the read model
+     * and the cache cannot be changed through the lists they hand out. Nulls are kept for
+     * validation to report.
+     */
+    public OpeningHoursRecord {
+        if (days != null) {
+            var copy = new LinkedHashMap<String, List<OpenIntervalRecord>>(days.size() * 2);
+            days.forEach((day, intervals) -> copy.put(day,
+                    intervals == null ? null : Collections.unmodifiableList(new ArrayList<>(intervals))));
+            days = Collections.unmodifiableMap(copy);
+        }
+    }
+}
\ No newline at end of file
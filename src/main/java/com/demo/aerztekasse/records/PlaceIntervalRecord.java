@@ -0,0 +1,10 @@
+package com.demo.aerztekasse.records;
+
+public record PlaceIntervalRecord(
+
+    Long placeId,
+
+    Integer startMinute,
+
+    Integer endMinute
+) {}
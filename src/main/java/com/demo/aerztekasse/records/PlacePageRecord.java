@@ -0,0 +1,10 @@
+package com.demo.aerztekasse.records;
+
+import java.util.List;
+
+public record PlacePageRecord(
+
+    List<PlaceRecord> places,
+
+    Long nextAfterId
+) {}
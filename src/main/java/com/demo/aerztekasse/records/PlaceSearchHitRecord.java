@@ -0,0 +1,10 @@
+package com.demo.aerztekasse.records;
+
+public record PlaceSearchHitRecord(
+
+    Long id,
+
+    String label,
+
+    String location
+) {}
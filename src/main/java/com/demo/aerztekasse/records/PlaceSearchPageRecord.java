@@ -0,0 +1,10 @@
+package com.demo.aerztekasse.records;
+
+import java.util.List;
+
+public record PlaceSearchPageRecord(
+
+    List<PlaceSearchHitRecord> places,
+
+    Long nextAfterId
+) {}
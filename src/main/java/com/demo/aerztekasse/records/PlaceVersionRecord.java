@@ -0,0 +1,12 @@
+package com.demo.aerztekasse.records;
+
+import java.time.Instant;
+
+public record PlaceVersionRecord(
+
+    Long id,
+
+    long version,
+
+    Instant lastModified
+) {}
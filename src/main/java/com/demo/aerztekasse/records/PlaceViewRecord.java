@@ -0,0 +1,10 @@
+package com.demo.aerztekasse.records;
+
+public record PlaceViewRecord(
+
+    PlaceRecord place,
+
+    GroupedPlaceRecord grouped,
+
+    PlaceVersionRecord version
+) {}
@@ -0,0 +1,14 @@
+package com.demo.aerztekasse.records;
+
+public record SnapshotRecord(
+
+    String path,
+
+    long places,
+
+    long openings,
+
+    long bytes,
+
+    long millis
+) {}
@@ -0,0 +1,8 @@
+package com.demo.aerztekasse.records;
+
+public record VersionedPlaceRecord(
+
+    PlaceRecord place,
+
+    PlaceVersionRecord version
+) {}
@@ -1,10 +1,99 @@
 package com.demo.aerztekasse.repository;
 
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.records.PlaceIntervalRecord;
+import com.demo.aerztekasse.records.PlaceSearchHitRecord;
+import com.demo.aerztekasse.records.PlaceVersionRecord;
 
 @Repository
 public interface PlaceRepository extends JpaRepository<Place, Long> {
-}
\ No newline at end of file
+
+    @Override
+    @EntityGraph(attributePaths = "days")
+    List<Place> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "days")
+    Optional<Place> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "days")
+    List<Place> findAllById(Iterable<Long> ids);
+
+    /**
+     * Pages over ids only; fetching the days collection together with a limit would make
+     * Hibernate paginate in memory, so callers load the page with {@link #findAllWithDaysByIdIn}.
+     */
+    @Query("select p.id from Place p where p.id > :afterId order by p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "days")
+    @Query("select p from Place p where p.id in :ids order by p.id")
+    List<Place> findAllWithDaysByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Opening intervals on {@code day} that overlap the window [from, to), for checking whether
+     * a place's intervals together cover it. Runs as a range scan on
+     * IDX_DAY_OPENING_DAY_START_END.
+     */
+    @Query("select new com.demo.aerztekasse.records.PlaceIntervalRecord(d.place.id, d.startMinute, d.endMinute) "
+            + "from DayOpening d where d.dayOfWeek = :day and d.startMinute < :to and d.endMinute > :from "
+            + "order by d.place.id, d.startMinute")
+    List<PlaceIntervalRecord> findIntervalsOpenDuring(@Param("day") DayOfWeek day, @Param("from") int from, @Param("to") int to);
+
+    /**
+     * Places with an opening interval on {@code day} that overlaps the window [from, to).
+     */
+    @Query("select distinct d.place.id from DayOpening d where d.dayOfWeek = :day "
+            + "and d.startMinute < :to and d.endMinute > :from order by d.place.id")
+    List<Long> findIdsOpenDuring(@Param("day") DayOfWeek day, @Param("from") int from, @Param("to") int to);
+
+    /**
+     * Reads only the version columns of a place, so conditional requests can be answered
+     * without touching the days collection.
+     */
+    @Query("select new com.demo.aerztekasse.records.PlaceVersionRecord(p.id, p.version, p.lastModified) from Place p where p.id = :id")
+    Optional<PlaceVersionRecord> findVersionById(@Param("id") Long id);
+
+    /**
+     * Label and location of every place, without the days, for building the search index.
+     */
+    @Query("select new com.demo.aerztekasse.records.PlaceSearchHitRecord(p.id, p.label, p.location) from Place p order by p.id")
+    List<PlaceSearchHitRecord> findAllSearchHits();
+
+    @Query("select p.id from Place p where p.id in :ids order by p.id")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.id from Place p where p.lastModified < :before order by p.id")
+    List<Long> findIdsModifiedBefore(@Param("before") Instant before);
+
+    /**
+     * Set-based delete of the openings of the given places, bypassing the cascade that would
+     * load every place and remove its rows one by one.
+     */
+    @Modifying
+    @Query("delete from DayOpening d where d.place.id in :ids")
+    int deleteOpeningsByPlaceIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Set-based delete of the given places; their openings must be gone already.
+     */
+    @Modifying
+    @Query("delete from Place p where p.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+}
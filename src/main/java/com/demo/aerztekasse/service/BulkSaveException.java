@@ -0,0 +1,23 @@
+package com.demo.aerztekasse.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown by {@link PlaceService#bulkSave} when a chunk or shard fails after others may have
+ * committed. {@link #getIds()} follows the order of the request: the id of every place that
+ * was saved, and {@code null} for every place that was not.
+ */
+public class BulkSaveException extends RuntimeException {
+
+    private final List<Long> ids;
+
+    public BulkSaveException(List<Long> ids, Throwable cause) {
+        super(cause.getMessage(), cause);
+        this.ids = Collections.unmodifiableList(ids);
+    }
+
+    public List<Long> getIds() {
+        return this.ids;
+    }
+}
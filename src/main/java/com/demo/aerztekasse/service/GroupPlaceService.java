@@ -1,9 +1,19 @@
 package com.demo.aerztekasse.service;
 
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.records.GroupedPlaceLookupRecord;
 import com.demo.aerztekasse.records.GroupedPlaceRecord;
+import com.demo.aerztekasse.records.VersionedGroupedPlaceRecord;
+
+import java.util.Collection;
+import java.util.Map;
 
 public interface GroupPlaceService {
 
-    public GroupedPlaceRecord getGroupedOpeningHoursByPlaceId(Long id);
+    public VersionedGroupedPlaceRecord getGroupedOpeningHoursByPlaceId(Long id);
+
+    public Map<Long, GroupedPlaceLookupRecord> getGroupedOpeningHoursByPlaceIds(Collection<Long> ids);
+
+    public GroupedPlaceRecord buildGroupedRecord(Place place);
 
 }
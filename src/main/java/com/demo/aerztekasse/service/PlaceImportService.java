@@ -0,0 +1,14 @@
+package com.demo.aerztekasse.service;
+
+import com.demo.aerztekasse.records.ImportLineRecord;
+import com.demo.aerztekasse.records.ImportSummaryRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface PlaceImportService {
+
+    public ImportSummaryRecord importNdjson(InputStream input, Consumer<ImportLineRecord> listener) throws IOException;
+
+}
@@ -1,19 +1,47 @@
 package com.demo.aerztekasse.service;
 
+import com.demo.aerztekasse.records.BulkDeleteRecord;
+import com.demo.aerztekasse.records.BulkDeleteRequestRecord;
+import com.demo.aerztekasse.records.BulkSaveRecord;
+import com.demo.aerztekasse.records.OpeningHoursPatchRecord;
+import com.demo.aerztekasse.records.PlacePageRecord;
 import com.demo.aerztekasse.records.PlaceRecord;
+import com.demo.aerztekasse.records.PlaceSearchPageRecord;
+import com.demo.aerztekasse.records.PlaceVersionRecord;
+import com.demo.aerztekasse.records.VersionedPlaceRecord;
 
+import java.time.LocalTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PlaceService {
 
     public List<PlaceRecord> savePlace(List<PlaceRecord> places);
 
+    public BulkSaveRecord bulkSave(List<PlaceRecord> places);
+
     public List<PlaceRecord> listAll();
 
-    public PlaceRecord findById(Long id);
+    public PlacePageRecord listPage(Long afterId, int limit);
+
+    public void forEachPlace(Consumer<PlaceRecord> consumer);
+
+    public VersionedPlaceRecord findById(Long id);
+
+    public PlaceSearchPageRecord search(String query, Long afterId, int limit);
+
+    public PlaceVersionRecord findVersionById(Long id);
 
     public void deleteById(Long id);
 
-    public PlaceRecord updatePlace(PlaceRecord updatedPlace);
+    public BulkDeleteRecord bulkDelete(BulkDeleteRequestRecord request);
+
+    public VersionedPlaceRecord updatePlace(PlaceRecord updatedPlace, Long expectedVersion);
+
+    public VersionedPlaceRecord patchOpeningHours(Long id, OpeningHoursPatchRecord patch, Long expectedVersion);
+
+    public List<PlaceRecord> findOpenAt(String day, LocalTime time);
+
+    public List<PlaceRecord> findOpenBetween(String day, LocalTime from, LocalTime to, String mode);
 
 }
\ No newline at end of file
@@ -1,81 +1,255 @@
 package com.demo.aerztekasse.service.impl;
 
+import com.demo.aerztekasse.config.Config;
 import com.demo.aerztekasse.entity.DayOpening;
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.demo.aerztekasse.metrics.PlaceMetrics;
+import com.demo.aerztekasse.readmodel.PlaceReadModel;
 import com.demo.aerztekasse.records.GroupedOpeningDayRecord;
+import com.demo.aerztekasse.records.GroupedPlaceLookupRecord;
 import com.demo.aerztekasse.records.GroupedPlaceRecord;
+import com.demo.aerztekasse.records.PlaceVersionRecord;
+import com.demo.aerztekasse.records.VersionedGroupedPlaceRecord;
 import com.demo.aerztekasse.repository.PlaceRepository;
 import com.demo.aerztekasse.service.GroupPlaceService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.DayOfWeek;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(PlaceMetrics.SERVICE_TIMER)
 public class GroupPlaceServiceImpl implements GroupPlaceService {
 
+    public static final String FOUND = "found";
+    public static final String NOT_FOUND = "not_found";
+
+    /**
+     * Grouping one place takes microseconds, so fanning out to the common pool only pays
+     * off once a batch has this many places to group.
+     */
+    private static final int PARALLEL_GROUPING_THRESHOLD = 256;
+    private static final int DAYS_PER_WEEK = DayOfWeek.values().length;
+    private static final int[] CLOSED = new int[0];
+    private static final List<String> CLOSED_INTERVALS = List.of("closed");
+    private static final String[] DAY_LABELS = new String[DAYS_PER_WEEK];
+
+    static {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            var name = day.name().toLowerCase();
+            DAY_LABELS[day.ordinal()] = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+
     private final List<DayOfWeek> dayOrder;
     private final PlaceRepository repository;
+    private final CacheManager cacheManager;
+    private final PlaceMetrics placeMetrics;
+    private final PlaceReadModel readModel;
 
-    public GroupPlaceServiceImpl(PlaceRepository repository, List<DayOfWeek> dayOrder) {
+    public GroupPlaceServiceImpl(PlaceRepository repository,
+                                 List<DayOfWeek> dayOrder,
+                                 CacheManager cacheManager,
+                                 PlaceMetrics placeMetrics,
+                                 PlaceReadModel readModel) {
         this.repository = repository;
         this.dayOrder = dayOrder;
+        this.cacheManager = cacheManager;
+        this.placeMetrics = placeMetrics;
+        this.readModel = readModel;
     }
 
+    /**
+     * Returns the grouping together with the version of the place it was built from, so an
+     * ETag derived from the result always describes the body, also when served from the cache.
+     */
     @Override
-    public GroupedPlaceRecord getGroupedOpeningHoursByPlaceId(Long id) {
+    @Cacheable(cacheNames = Config.GROUPED_OPENING_HOURS_CACHE, key = "#id", sync = true)
+    public VersionedGroupedPlaceRecord getGroupedOpeningHoursByPlaceId(Long id) {
+        if (this.readModel.isReady()) {
+            return this.readModel.get(id)
+                    .map(view -> new VersionedGroupedPlaceRecord(view.grouped(), view.version()))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Place not found: " + id));
+        }
         var place = repository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Place not found: " + id));
 
-        var byDay = place.getDays().stream().collect(Collectors.groupingBy(DayOpening::getDayOfWeek));
-
-        LinkedHashMap<String, List<DayOfWeek>> groupedDays = new LinkedHashMap<>();
-        Map<String, List<String>> intervalMap = new HashMap<>();
-
-        for (DayOfWeek day : this.dayOrder) {
-            var opens = byDay.getOrDefault(day, Collections.emptyList());
-            List<String> intervals;
+        return buildVersionedGroupedRecord(place);
+    }
 
-            if (opens.isEmpty()) {
-                intervals = List.of("closed");
-            } else {
-                intervals = opens.stream()
-                        .sorted(Comparator.comparing(DayOpening::getStartTime))
-                        .map(o -> o.getStartTime() + " - " + o.getEndTime())
-                        .collect(Collectors.toList());
+    /**
+     * Serves cached groupings first and loads all remaining places with their days in a
+     * single query. Unknown ids are reported as {@link #NOT_FOUND} instead of failing the
+     * whole batch; the result keeps the request order with duplicates removed.
+     * <p>
+     * The loaded groupings are not written back to the cache: they are read outside the
+     * cache's per-key lock, so an eviction by a concurrent update could land before the put
+     * and leave the old grouping cached. Only the single-place path populates the cache.
+     */
+    @Override
+    public Map<Long, GroupedPlaceLookupRecord> getGroupedOpeningHoursByPlaceIds(Collection<Long> ids) {
+        if (this.readModel.isReady()) {
+            var result = new LinkedHashMap<Long, GroupedPlaceLookupRecord>(ids.size() * 2);
+            for (Long id : ids) {
+                result.computeIfAbsent(id, key -> this.readModel.get(key)
+                        .map(view -> new GroupedPlaceLookupRecord(FOUND, view.grouped()))
+                        .orElseGet(() -> new GroupedPlaceLookupRecord(NOT_FOUND, null)));
+            }
+            return result;
+        }
+        var cache = this.cacheManager.getCache(Config.GROUPED_OPENING_HOURS_CACHE);
+        var grouped = new LinkedHashMap<Long, GroupedPlaceRecord>();
+        var missing = new ArrayList<Long>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            var cached = cache == null ? null : cache.get(id, VersionedGroupedPlaceRecord.class);
+            grouped.put(id, cached == null ? null : cached.grouped());
+            if (cached == null) {
+                missing.add(id);
             }
+        }
 
-            var key = String.join(", ", intervals);
-            groupedDays.computeIfAbsent(key, k -> new ArrayList<>()).add(day);
-            intervalMap.putIfAbsent(key, intervals);
+        if (!missing.isEmpty()) {
+            var places = this.repository.findAllWithDaysByIdIn(missing);
+            var stream = places.size() >= PARALLEL_GROUPING_THRESHOLD ? places.parallelStream() : places.stream();
+            var loaded = stream.map(this::buildVersionedGroupedRecord)
+                    .collect(Collectors.toMap(record -> record.version().id(), Function.identity()));
+            loaded.values().forEach(record -> grouped.put(record.version().id(), record.grouped()));
         }
 
-        var openingGroups = groupedDays.entrySet()
-                .stream()
-                .sorted(Comparator.comparing(e -> this.dayOrder.indexOf(e.getValue().getFirst())))
-                .map(e -> new GroupedOpeningDayRecord(
-                        formatDays(e.getValue()),
-                        intervalMap.get(e.getKey())
-                ))
-                .collect(Collectors.toList());
+        var result = new LinkedHashMap<Long, GroupedPlaceLookupRecord>(grouped.size() * 2);
+        grouped.forEach((id, record) -> result.put(id, record == null
+                ? new GroupedPlaceLookupRecord(NOT_FOUND, null)
+                : new GroupedPlaceLookupRecord(FOUND, record)));
+        return result;
+    }
 
+    @Override
+    public GroupedPlaceRecord buildGroupedRecord(Place place) {
+        var openingHours = this.placeMetrics.timeGrouping(() -> groupOpenings(place.getDays()));
         return new GroupedPlaceRecord(place.getId(),
                 place.getLabel(),
                 place.getLocation(),
-                openingGroups);
+                openingHours);
+    }
+
+    private VersionedGroupedPlaceRecord buildVersionedGroupedRecord(Place place) {
+        return new VersionedGroupedPlaceRecord(buildGroupedRecord(place),
+                new PlaceVersionRecord(place.getId(), place.getVersion(), place.getLastModified()));
+    }
+
+    /**
+     * Groups days with identical intervals. Each day's intervals are packed as
+     * {@code start << 16 | end} into an int array, stably sorted by start, and days are
+     * grouped by comparing those arrays; strings are only built for the final records.
+     */
+    protected List<GroupedOpeningDayRecord> groupOpenings(List<DayOpening> days) {
+        var signatures = pack(days);
+
+        var positions = this.dayOrder.size();
+        var groupOf = new int[positions];
+        var firstPosition = new int[positions];
+        var lastPosition = new int[positions];
+        var groups = 0;
+
+        for (int position = 0; position < positions; position++) {
+            var signature = signatures[this.dayOrder.get(position).ordinal()];
+            var group = -1;
+            for (int g = 0; g < groups; g++) {
+                var first = this.dayOrder.get(firstPosition[g]).ordinal();
+                if (Arrays.equals(signatures[first], signature)) {
+                    group = g;
+                    break;
+                }
+            }
+            if (group < 0) {
+                group = groups++;
+                firstPosition[group] = position;
+            }
+            groupOf[position] = group;
+            lastPosition[group] = position;
+        }
+
+        var result = new ArrayList<GroupedOpeningDayRecord>(groups);
+        for (int g = 0; g < groups; g++) {
+            var first = this.dayOrder.get(firstPosition[g]);
+            var last = this.dayOrder.get(lastPosition[g]);
+            result.add(new GroupedOpeningDayRecord(formatDays(first, last), formatIntervals(signatures[first.ordinal()])));
+        }
+        return result;
+    }
+
+    protected int[][] pack(List<DayOpening> days) {
+        var counts = new int[DAYS_PER_WEEK];
+        for (DayOpening opening : days) {
+            counts[opening.getDayOfWeek().ordinal()]++;
+        }
+
+        var signatures = new int[DAYS_PER_WEEK][];
+        for (int day = 0; day < DAYS_PER_WEEK; day++) {
+            signatures[day] = counts[day] == 0 ? CLOSED : new int[counts[day]];
+            counts[day] = 0;
+        }
+
+        for (DayOpening opening : days) {
+            var day = opening.getDayOfWeek().ordinal();
+            signatures[day][counts[day]++] = opening.getStartMinute() << 16 | opening.getEndMinute();
+        }
+
+        for (int[] signature : signatures) {
+            sortByStart(signature);
+        }
+        return signatures;
+    }
+
+    /**
+     * Stable insertion sort on the start minute only, so intervals sharing a start keep
+     * their original order; days rarely have more than a handful of intervals.
+     */
+    private static void sortByStart(int[] packed) {
+        for (int i = 1; i < packed.length; i++) {
+            var value = packed[i];
+            var j = i - 1;
+            while (j >= 0 && (packed[j] >>> 16) > (value >>> 16)) {
+                packed[j + 1] = packed[j];
+                j--;
+            }
+            packed[j + 1] = value;
+        }
+    }
+
+    protected List<String> formatIntervals(int[] signature) {
+        if (signature.length == 0) {
+            return CLOSED_INTERVALS;
+        }
+        var intervals = new ArrayList<String>(signature.length);
+        for (int packed : signature) {
+            intervals.add(TimeHelper.formatInterval(packed >>> 16, packed & 0xFFFF));
+        }
+        return intervals;
     }
 
     protected String formatDay(DayOfWeek day) {
-        var name = day.name().toLowerCase();
-        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        return DAY_LABELS[day.ordinal()];
     }
 
-    protected String formatDays(List<DayOfWeek> days) {
-        if (days.size() == 1) {
-            return formatDay(days.getFirst());
+    protected String formatDays(DayOfWeek first, DayOfWeek last) {
+        if (first == last) {
+            return formatDay(first);
         }
-        return formatDay(days.getFirst()) + " - " + formatDay(days.getLast());
+        return formatDay(first) + " - " + formatDay(last);
     }
 }
@@ -0,0 +1,218 @@
+package com.demo.aerztekasse.service.impl;
+
+import com.demo.aerztekasse.metrics.PlaceMetrics;
+import com.demo.aerztekasse.records.ImportLineRecord;
+import com.demo.aerztekasse.records.ImportSummaryRecord;
+import com.demo.aerztekasse.records.PlaceRecord;
+import com.demo.aerztekasse.service.BulkSaveException;
+import com.demo.aerztekasse.service.PlaceImportService;
+import com.demo.aerztekasse.service.PlaceService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Imports newline-delimited places. Each line is parsed and validated on its own, so a bad
+ * record only rejects its line, and accepted records are persisted in fixed-size chunks,
+ * each in its own transaction. Lines longer than {@code aerztekasse.import.max-line-length}
+ * characters are rejected without being buffered, so memory is bounded by the chunk size
+ * and the line cap, not the file size.
+ */
+@Slf4j
+@Service
+@Timed(PlaceMetrics.SERVICE_TIMER)
+public class PlaceImportServiceImpl implements PlaceImportService {
+
+    public static final String ACCEPTED = "accepted";
+    public static final String REJECTED = "rejected";
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final PlaceService placeService;
+    private final Validator validator;
+    private final ObjectReader reader;
+    private final int maxLineLength;
+
+    public PlaceImportServiceImpl(PlaceService placeService,
+                                  Validator validator,
+                                  ObjectMapper objectMapper,
+                                  @Value("${aerztekasse.import.max-line-length:65536}") int maxLineLength) {
+        this.placeService = placeService;
+        this.validator = validator;
+        this.reader = objectMapper.readerFor(PlaceRecord.class);
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public ImportSummaryRecord importNdjson(InputStream input, Consumer<ImportLineRecord> listener) throws IOException {
+        var lines = new LineReader(new InputStreamReader(input, StandardCharsets.UTF_8), this.maxLineLength);
+        var buffer = new StringBuilder();
+        var chunk = new ArrayList<PlaceRecord>(CHUNK_SIZE);
+        var chunkLines = new ArrayList<Long>(CHUNK_SIZE);
+        long lineNumber = 0;
+        long accepted = 0;
+        long rejected = 0;
+
+        int length;
+        while ((length = lines.readLine(buffer)) >= 0) {
+            lineNumber++;
+            if (length > this.maxLineLength) {
+                listener.accept(rejected(lineNumber, List.of("Line exceeds " + this.maxLineLength + " characters")));
+                rejected++;
+                continue;
+            }
+            var line = buffer.toString();
+            if (line.isBlank()) {
+                continue;
+            }
+
+            PlaceRecord record;
+            try {
+                record = this.reader.readValue(line);
+            } catch (JsonProcessingException e) {
+                listener.accept(rejected(lineNumber, List.of(e.getOriginalMessage())));
+                rejected++;
+                continue;
+            }
+
+            var errors = validate(record);
+            if (!errors.isEmpty()) {
+                listener.accept(rejected(lineNumber, errors));
+                rejected++;
+                continue;
+            }
+
+            chunk.add(record);
+            chunkLines.add(lineNumber);
+            if (chunk.size() == CHUNK_SIZE) {
+                var saved = persist(chunk, chunkLines, listener);
+                accepted += saved;
+                rejected += chunk.size() - saved;
+                chunk.clear();
+                chunkLines.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            var saved = persist(chunk, chunkLines, listener);
+            accepted += saved;
+            rejected += chunk.size() - saved;
+        }
+        return new ImportSummaryRecord(accepted, rejected);
+    }
+
+    protected List<String> validate(PlaceRecord record) {
+        var errors = new ArrayList<String>();
+        for (ConstraintViolation<PlaceRecord> violation : this.validator.validate(record)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    /**
+     * Saves the chunk and reports every line. If the save fails part-way (one shard of the
+     * chunk failed after another committed), the lines that were saved are still reported as
+     * accepted with their id and only the others as rejected.
+     */
+    private int persist(List<PlaceRecord> chunk, List<Long> chunkLines, Consumer<ImportLineRecord> listener) {
+        List<Long> ids;
+        List<String> errors = List.of();
+        try {
+            ids = this.placeService.bulkSave(chunk).ids();
+        } catch (BulkSaveException e) {
+            log.error("Error on PlaceImportService chunk ending at line {}", chunkLines.getLast(), e);
+            ids = e.getIds();
+            errors = List.of("Chunk could not be saved: " + e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error on PlaceImportService chunk ending at line {}", chunkLines.getLast(), e);
+            ids = Collections.nCopies(chunk.size(), null);
+            errors = List.of("Chunk could not be saved: " + e.getMessage());
+        }
+        var saved = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            var id = ids.get(i);
+            if (id == null) {
+                listener.accept(rejected(chunkLines.get(i), errors));
+            } else {
+                listener.accept(new ImportLineRecord(chunkLines.get(i), ACCEPTED, id, List.of()));
+                saved++;
+            }
+        }
+        return saved;
+    }
+
+    private ImportLineRecord rejected(long lineNumber, List<String> errors) {
+        return new ImportLineRecord(lineNumber, REJECTED, null, errors);
+    }
+
+    /**
+     * Splits the input into lines like {@link java.io.BufferedReader#readLine()}, but keeps at
+     * most {@code maxLength} characters of each line and skips the rest, so a line without
+     * a newline in sight cannot grow the heap.
+     */
+    private static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Reads the next line into {@code line} without its terminator and returns its length,
+         * {@code maxLength + 1} for a longer line that was cut, or -1 at the end of the input.
+         */
+        int readLine(StringBuilder line) throws IOException {
+            line.setLength(0);
+            var length = 0;
+            var started = false;
+            while (true) {
+                if (this.position == this.limit) {
+                    this.limit = this.reader.read(this.buffer);
+                    this.position = 0;
+                    if (this.limit < 0) {
+                        this.limit = 0;
+                        return started ? length : -1;
+                    }
+                }
+                started = true;
+                var start = this.position;
+                while (this.position < this.limit && this.buffer[this.position] != '\n') {
+                    this.position++;
+                }
+                var read = this.position - start;
+                line.append(this.buffer, start, Math.max(0, Math.min(read, this.maxLength - length)));
+                length = Math.min(length + read, this.maxLength + 1);
+                if (this.position < this.limit) {
+                    this.position++;
+                    if (length <= this.maxLength && !line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                        line.setLength(line.length() - 1);
+                        length--;
+                    }
+                    return length;
+                }
+            }
+        }
+    }
+}
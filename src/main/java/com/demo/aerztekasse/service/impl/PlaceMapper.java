@@ -0,0 +1,74 @@
+package com.demo.aerztekasse.service.impl;
+
+import com.demo.aerztekasse.entity.DayOpening;
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.demo.aerztekasse.records.OpenIntervalRecord;
+import com.demo.aerztekasse.records.OpeningHoursRecord;
+import com.demo.aerztekasse.records.PlaceRecord;
+import com.demo.aerztekasse.records.PlaceVersionRecord;
+import com.demo.aerztekasse.records.VersionedPlaceRecord;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Converts between the API records and the Place entity. Stateless, so it can also be
+ * created directly, e.g. by the mapping benchmarks.
+ */
+@Component
+public class PlaceMapper {
+
+    public Place buildEntity(PlaceRecord record) {
+        var place = Place.builder()
+                .label(record.label())
+                .location(record.location())
+                .lastModified(Instant.now())
+                .days(new ArrayList<>())
+                .build();
+
+        record.openingHours().days().forEach((day, intervals) -> {
+            var dayOfWeek = DayOfWeek.valueOf(day.toUpperCase());
+            intervals.forEach(intervalRecord -> {
+                var dayOpening = DayOpening.builder()
+                        .dayOfWeek(dayOfWeek)
+                        .startMinute(TimeHelper.toMinuteOfDay(intervalRecord.start()))
+                        .endMinute(TimeHelper.toEndMinuteOfDay(intervalRecord.end()))
+                        .type(intervalRecord.type())
+                        .place(place)
+                        .build();
+                place.getDays().add(dayOpening);
+            });
+        });
+        return place;
+    }
+
+    public PlaceRecord buildRecord(Place place) {
+        var dayMap = place.getDays()
+                .stream()
+                .collect(Collectors.groupingBy(d -> d.getDayOfWeek().name().toLowerCase(),
+                        LinkedHashMap::new,
+                        Collectors.mapping(d -> new OpenIntervalRecord(TimeHelper.format(d.getStartMinute()),
+                                        TimeHelper.format(d.getEndMinute()),
+                                        d.getType()
+                                ), Collectors.toList()
+                        )
+                ));
+        return new PlaceRecord(place.getId(),
+                place.getLabel(),
+                place.getLocation(),
+                new OpeningHoursRecord(dayMap));
+    }
+
+    public VersionedPlaceRecord buildVersionedRecord(Place place) {
+        return new VersionedPlaceRecord(buildRecord(place), buildVersion(place));
+    }
+
+    public PlaceVersionRecord buildVersion(Place place) {
+        return new PlaceVersionRecord(place.getId(), place.getVersion(), place.getLastModified());
+    }
+}
@@ -0,0 +1,103 @@
+package com.demo.aerztekasse.service.impl;
+
+import com.demo.aerztekasse.changelog.PlaceChangeLog;
+import com.demo.aerztekasse.config.Config;
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.index.OpeningHoursIndex;
+import com.demo.aerztekasse.index.PlaceSearchIndex;
+import com.demo.aerztekasse.index.WriteWatermark;
+import com.demo.aerztekasse.readmodel.PlaceReadModel;
+import com.demo.aerztekasse.records.PlaceViewRecord;
+import com.demo.aerztekasse.service.GroupPlaceService;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Propagates committed writes to everything that mirrors the database: the in-memory
+ * indexes, the read model, the grouped cache and the change log. It refuses to run inside
+ * a transaction: a rollback could not undo the index updates, so callers publish only once
+ * their transaction has committed. Callers also hold a {@link WriteWatermark} ticket from
+ * before their transaction until the publish returns, which tells the views how long they
+ * must keep the tombstones of removed places.
+ */
+@Component
+public class PlacePublisher {
+
+    private final OpeningHoursIndex openingHoursIndex;
+    private final PlaceSearchIndex placeSearchIndex;
+    private final PlaceReadModel readModel;
+    private final GroupPlaceService groupPlaceService;
+    private final CacheManager cacheManager;
+    private final PlaceChangeLog changeLog;
+    private final PlaceMapper mapper;
+
+    public PlacePublisher(OpeningHoursIndex openingHoursIndex,
+                          PlaceSearchIndex placeSearchIndex,
+                          PlaceReadModel readModel,
+                          GroupPlaceService groupPlaceService,
+                          CacheManager cacheManager,
+                          PlaceChangeLog changeLog,
+                          PlaceMapper mapper) {
+        this.openingHoursIndex = openingHoursIndex;
+        this.placeSearchIndex = placeSearchIndex;
+        this.readModel = readModel;
+        this.groupPlaceService = groupPlaceService;
+        this.cacheManager = cacheManager;
+        this.changeLog = changeLog;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Publishes the written places and logs their new state. The read model is updated
+     * before the cache eviction, so a read racing the publish cannot cache the previous
+     * grouping again.
+     */
+    public void upserted(Collection<Place> places) {
+        requireCommitted();
+        for (Place place : places) {
+            this.openingHoursIndex.put(place);
+            this.placeSearchIndex.put(place);
+            if (this.readModel.isEnabled()) {
+                this.readModel.put(buildView(place));
+            }
+            evictGroupedOpeningHours(place.getId());
+        }
+        this.changeLog.recordUpserts(places);
+    }
+
+    /**
+     * Drops the deleted places everywhere and logs the deletes as one group.
+     */
+    public void deleted(Collection<Long> ids) {
+        requireCommitted();
+        for (Long id : ids) {
+            this.openingHoursIndex.remove(id);
+            this.placeSearchIndex.remove(id);
+            this.readModel.remove(id);
+            evictGroupedOpeningHours(id);
+        }
+        this.changeLog.recordDeletes(ids);
+    }
+
+    public PlaceViewRecord buildView(Place place) {
+        return new PlaceViewRecord(this.mapper.buildRecord(place),
+                this.groupPlaceService.buildGroupedRecord(place),
+                this.mapper.buildVersion(place));
+    }
+
+    private static void requireCommitted() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Places are published after their transaction has committed, not inside it");
+        }
+    }
+
+    private void evictGroupedOpeningHours(Long id) {
+        var cache = this.cacheManager.getCache(Config.GROUPED_OPENING_HOURS_CACHE);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+}
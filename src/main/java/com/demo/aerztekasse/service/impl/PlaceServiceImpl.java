@@ -2,57 +2,256 @@ package com.demo.aerztekasse.service.impl;
 
 import com.demo.aerztekasse.entity.DayOpening;
 import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.demo.aerztekasse.index.OpeningHoursIndex;
+import com.demo.aerztekasse.index.PlaceSearchIndex;
+import com.demo.aerztekasse.index.WriteWatermark;
+import com.demo.aerztekasse.metrics.PlaceMetrics;
+import com.demo.aerztekasse.readmodel.PlaceReadModel;
+import com.demo.aerztekasse.records.BulkDeleteRecord;
+import com.demo.aerztekasse.records.BulkDeleteRequestRecord;
+import com.demo.aerztekasse.records.BulkSaveRecord;
 import com.demo.aerztekasse.records.OpenIntervalRecord;
-import com.demo.aerztekasse.records.OpeningHoursRecord;
+import com.demo.aerztekasse.records.OpeningHoursPatchRecord;
+import com.demo.aerztekasse.records.PlaceIntervalRecord;
+import com.demo.aerztekasse.records.PlacePageRecord;
 import com.demo.aerztekasse.records.PlaceRecord;
+import com.demo.aerztekasse.records.PlaceSearchPageRecord;
+import com.demo.aerztekasse.records.PlaceVersionRecord;
+import com.demo.aerztekasse.records.PlaceViewRecord;
+import com.demo.aerztekasse.records.VersionedPlaceRecord;
 import com.demo.aerztekasse.repository.PlaceRepository;
+import com.demo.aerztekasse.service.BulkSaveException;
 import com.demo.aerztekasse.service.PlaceService;
-import jakarta.transaction.Transactional;
+import com.demo.aerztekasse.shard.PlaceShards;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
+@Timed(PlaceMetrics.SERVICE_TIMER)
 public class PlaceServiceImpl implements PlaceService {
 
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    public static final String OPEN_THROUGHOUT = "whole";
+    public static final String OPEN_DURING = "any";
+
     private final PlaceRepository repository;
+    private final OpeningHoursIndex openingHoursIndex;
+    private final PlaceSearchIndex placeSearchIndex;
+    private final PlaceReadModel readModel;
+    private final PlaceMapper mapper;
+    private final PlacePublisher publisher;
+    private final PlaceTransactions transactions;
+    private final PlaceShards shards;
+    private final WriteWatermark watermark;
 
-    public PlaceServiceImpl(PlaceRepository repository) {
+    public PlaceServiceImpl(PlaceRepository repository,
+                            OpeningHoursIndex openingHoursIndex,
+                            PlaceSearchIndex placeSearchIndex,
+                            PlaceReadModel readModel,
+                            PlaceMapper mapper,
+                            PlacePublisher publisher,
+                            PlaceTransactions transactions,
+                            PlaceShards shards,
+                            WriteWatermark watermark) {
         this.repository = repository;
+        this.openingHoursIndex = openingHoursIndex;
+        this.placeSearchIndex = placeSearchIndex;
+        this.readModel = readModel;
+        this.mapper = mapper;
+        this.publisher = publisher;
+        this.transactions = transactions;
+        this.shards = shards;
+        this.watermark = watermark;
     }
 
     @Override
     public List<PlaceRecord> savePlace(List<PlaceRecord> places) {
         var entities = places.stream()
-                .map(this::buildEntity)
+                .map(this.mapper::buildEntity)
                 .collect(Collectors.toList());
-        List<Place> saved = this.repository.saveAll(entities);
-        return saved.stream()
-                .map(this::buildRecord)
+        this.watermark.track(() -> this.transactions.persist(entities, false, this.publisher::upserted));
+        return entities.stream()
+                .map(this.mapper::buildRecord)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Saves the places chunk by chunk. Chunks and shards commit on their own, so if one fails
+     * the ones before it stay saved; the {@link BulkSaveException} then reports which.
+     */
+    @Override
+    public BulkSaveRecord bulkSave(List<PlaceRecord> places) {
+        var ids = new ArrayList<Long>(places.size());
+        try {
+            for (int from = 0; from < places.size(); from += BULK_CHUNK_SIZE) {
+                var chunk = places.subList(from, Math.min(from + BULK_CHUNK_SIZE, places.size()));
+                persistChunk(chunk, ids);
+            }
+        } catch (RuntimeException e) {
+            while (ids.size() < places.size()) {
+                ids.add(null);
+            }
+            throw new BulkSaveException(ids, e);
+        }
+        return new BulkSaveRecord(ids.size(), ids);
+    }
+
+    /**
+     * Persists one chunk in its own transaction per shard and appends the id of each place to
+     * {@code ids}, or {@code null} for a place whose shard failed. Ids come from the pooled
+     * sequences, so the single flush per chunk is sent as ordered JDBC batches, and clearing
+     * afterwards keeps the persistence context from growing with the import.
+     */
+    protected void persistChunk(List<PlaceRecord> chunk, List<Long> ids) {
+        var entities = chunk.stream()
+                .map(this.mapper::buildEntity)
+                .toList();
+        var saved = Collections.newSetFromMap(new IdentityHashMap<Place, Boolean>());
+        try {
+            this.watermark.track(() -> this.transactions.persist(entities, true, committed -> {
+                saved.addAll(committed);
+                this.publisher.upserted(committed);
+            }));
+        } finally {
+            entities.forEach(entity -> ids.add(saved.contains(entity) ? entity.getId() : null));
+        }
+    }
+
+    /**
+     * Fills the read model page by page once the application is up; until then reads keep
+     * going to the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadReadModel() {
+        if (!this.readModel.isEnabled()) {
+            return;
+        }
+        this.watermark.track(() -> {
+            Long afterId = 0L;
+            while (afterId != null) {
+                var ids = this.repository.findIdsAfter(afterId, Limit.of(STREAM_PAGE_SIZE));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                this.repository.findAllWithDaysByIdIn(ids)
+                        .forEach(place -> this.readModel.put(this.publisher.buildView(place)));
+                afterId = ids.size() < STREAM_PAGE_SIZE ? null : ids.getLast();
+            }
+        });
+        this.readModel.markReady();
+    }
+
     @Override
     public List<PlaceRecord> listAll() {
+        if (this.readModel.isReady()) {
+            return this.readModel.all().stream()
+                    .map(PlaceViewRecord::place)
+                    .collect(Collectors.toList());
+        }
         return this.repository.findAll().stream()
-                .map(this::buildRecord)
+                .map(this.mapper::buildRecord)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public PlaceRecord findById(Long id) {
+    public PlacePageRecord listPage(Long afterId, int limit) {
+        if (this.readModel.isReady()) {
+            var views = this.readModel.page(afterId, limit);
+            var records = views.stream()
+                    .map(PlaceViewRecord::place)
+                    .collect(Collectors.toList());
+            var nextAfterId = views.size() < limit ? null : views.getLast().version().id();
+            return new PlacePageRecord(records, nextAfterId);
+        }
+        var ids = this.repository.findIdsAfter(afterId == null ? 0L : afterId, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return new PlacePageRecord(List.of(), null);
+        }
+        var records = this.repository.findAllWithDaysByIdIn(ids).stream()
+                .map(this.mapper::buildRecord)
+                .collect(Collectors.toList());
+        var nextAfterId = ids.size() < limit ? null : ids.getLast();
+        return new PlacePageRecord(records, nextAfterId);
+    }
+
+    /**
+     * Walks the table page by page using the id as a keyset cursor. Each page is read in
+     * its own persistence context, so memory stays bounded by the page size.
+     */
+    @Override
+    public void forEachPlace(Consumer<PlaceRecord> consumer) {
+        Long afterId = 0L;
+        while (afterId != null) {
+            var page = listPage(afterId, STREAM_PAGE_SIZE);
+            page.places().forEach(consumer);
+            afterId = page.nextAfterId();
+        }
+    }
+
+    /**
+     * Returns the place with the version it was read at, taken from the same view or row.
+     */
+    @Override
+    public VersionedPlaceRecord findById(Long id) {
+        if (this.readModel.isReady()) {
+            return this.readModel.get(id)
+                    .map(view -> new VersionedPlaceRecord(view.place(), view.version()))
+                    .orElseThrow(() -> new ResponseStatusException(
+                            HttpStatus.NOT_FOUND, "Place not found: " + id));
+        }
         var place = this.repository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "Place not found: " + id));
-        return buildRecord(place);
+        return this.mapper.buildVersionedRecord(place);
     }
 
+    /**
+     * Answered entirely from the in-memory search index.
+     */
+    @Override
+    public PlaceSearchPageRecord search(String query, Long afterId, int limit) {
+        return this.placeSearchIndex.search(query, afterId, limit);
+    }
+
+    @Override
+    public PlaceVersionRecord findVersionById(Long id) {
+        if (this.readModel.isReady()) {
+            return this.readModel.get(id)
+                    .map(PlaceViewRecord::version)
+                    .orElseThrow(() -> new ResponseStatusException(
+                            HttpStatus.NOT_FOUND, "Place not found: " + id));
+        }
+        return this.repository.findVersionById(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Place not found: " + id));
+    }
 
     @Override
     public void deleteById(Long id) {
@@ -60,76 +259,289 @@ public class PlaceServiceImpl implements PlaceService {
             throw new ResponseStatusException(
                     HttpStatus.NOT_FOUND, "Place not found: " + id);
         }
-        this.repository.deleteById(id);
+        this.watermark.track(() -> {
+            this.repository.deleteById(id);
+            this.publisher.deleted(List.of(id));
+        });
     }
 
+    /**
+     * Deletes in one transaction per shard with set-based statements: per chunk of ids one
+     * query finds the existing places, one DELETE removes their openings and one removes the
+     * places. No entity is loaded, so the cascade and the version check are bypassed; the
+     * in-memory indexes, read model, cache and change log follow each shard right after its
+     * commit, so a failure on a later shard does not hide deletes that already happened.
+     */
     @Override
-    @Transactional
-    public PlaceRecord updatePlace(PlaceRecord updatedPlace) {
-        var existingPlace = this.repository.findById(updatedPlace.id())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Place not found"));
-
-        existingPlace.setLabel(updatedPlace.label());
-        existingPlace.setLocation(updatedPlace.location());
-
-        existingPlace.getDays().clear();
-
-        var newDays = updatedPlace.openingHours().days().entrySet().stream()
-                .flatMap(entry -> entry.getValue().stream()
-                        .map(interval ->
-                                DayOpening.builder()
-                                        .dayOfWeek(DayOfWeek.valueOf(entry.getKey().toUpperCase()))
-                                        .startTime(interval.start())
-                                        .endTime(interval.end())
-                                        .type(interval.type())
-                                        .place(existingPlace)
-                                        .build()))
+    public BulkDeleteRecord bulkDelete(BulkDeleteRequestRecord request) {
+        if ((request.ids() == null) == (request.modifiedBefore() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide either ids or modifiedBefore");
+        }
+        var requested = request.ids() == null ? null : List.copyOf(new TreeSet<>(request.ids()));
+
+        var deleted = new ArrayList<Long>();
+        if (requested != null) {
+            this.shards.partition(requested, id -> id).forEach((shard, ids) ->
+                    deleted.addAll(deleteOnShard(shard, () -> deleteExisting(ids, true))));
+        } else {
+            for (int shard = 0; shard < this.shards.count(); shard++) {
+                deleted.addAll(deleteOnShard(shard, () ->
+                        deleteExisting(this.repository.findIdsModifiedBefore(request.modifiedBefore()), false)));
+            }
+        }
+        Collections.sort(deleted);
+
+        var notFound = requested == null ? List.<Long>of() : requested.stream()
+                .filter(id -> Collections.binarySearch(deleted, id) < 0)
                 .toList();
+        return new BulkDeleteRecord(deleted.size(), deleted, notFound);
+    }
+
+    private List<Long> deleteOnShard(int shard, Supplier<List<Long>> delete) {
+        return this.watermark.track(() -> {
+            var deleted = this.transactions.inTransaction(shard, delete);
+            this.publisher.deleted(deleted);
+            return deleted;
+        });
+    }
+
+    /**
+     * Deletes the candidates chunk by chunk within the caller's transaction, after looking up
+     * which of them exist if asked to.
+     */
+    private List<Long> deleteExisting(List<Long> candidates, boolean checkExisting) {
+        var existing = new ArrayList<Long>(candidates.size());
+        for (int from = 0; from < candidates.size(); from += BULK_CHUNK_SIZE) {
+            var chunk = candidates.subList(from, Math.min(from + BULK_CHUNK_SIZE, candidates.size()));
+            var found = checkExisting ? this.repository.findIdsByIdIn(chunk) : chunk;
+            if (found.isEmpty()) {
+                continue;
+            }
+            this.repository.deleteOpeningsByPlaceIdIn(found);
+            this.repository.deleteByIdIn(found);
+            existing.addAll(found);
+        }
+        return existing;
+    }
 
-        existingPlace.getDays().addAll(newDays);
+    @Override
+    public List<PlaceRecord> findOpenAt(String day, LocalTime time) {
+        var ids = this.openingHoursIndex.openAt(parseDay(day), time);
+        if (this.readModel.isReady()) {
+            return fromReadModel(ids);
+        }
+        return this.repository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(Place::getId))
+                .map(this.mapper::buildRecord)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Resolves the matching ids with an indexed query on DAY_OPENING and then loads those
+     * places with their days. A window ending at 00:00 runs until midnight; windows must not
+     * span two days. For "whole" the intervals of a place may cover the window together, so
+     * back-to-back intervals (e.g. 18:00 - 20:00 and 20:00 - 22:00) cover 18:00 - 22:00.
+     */
+    @Override
+    public List<PlaceRecord> findOpenBetween(String day, LocalTime from, LocalTime to, String mode) {
+        var dayOfWeek = parseDay(day);
+        var start = TimeHelper.toMinuteOfDay(from);
+        var end = to.equals(LocalTime.MIDNIGHT) ? TimeHelper.MINUTES_PER_DAY : TimeHelper.toMinuteOfDay(to);
+        if (start >= end) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+
+        List<Long> ids;
+        if (OPEN_THROUGHOUT.equalsIgnoreCase(mode)) {
+            ids = coveringPlaceIds(this.repository.findIntervalsOpenDuring(dayOfWeek, start, end), start, end);
+        } else if (OPEN_DURING.equalsIgnoreCase(mode)) {
+            ids = this.repository.findIdsOpenDuring(dayOfWeek, start, end);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid mode, expected whole or any");
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (this.readModel.isReady()) {
+            return fromReadModel(ids);
+        }
+        return this.repository.findAllWithDaysByIdIn(ids).stream()
+                .map(this.mapper::buildRecord)
+                .collect(Collectors.toList());
+    }
 
-        var savedPlace = this.repository.save(existingPlace);
-        return buildRecord(savedPlace);
+    /**
+     * Ids of the places whose intervals, joined where one ends and the next starts, cover
+     * [start, end) without a gap; in ascending order.
+     */
+    private static List<Long> coveringPlaceIds(List<PlaceIntervalRecord> intervals, int start, int end) {
+        var sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparing(PlaceIntervalRecord::placeId)
+                .thenComparing(PlaceIntervalRecord::startMinute));
+        var ids = new ArrayList<Long>();
+        Long placeId = null;
+        var covered = start;
+        for (PlaceIntervalRecord interval : sorted) {
+            if (!interval.placeId().equals(placeId)) {
+                placeId = interval.placeId();
+                covered = start;
+            }
+            if (covered < end && interval.startMinute() <= covered && interval.endMinute() > covered) {
+                covered = interval.endMinute();
+                if (covered >= end) {
+                    ids.add(placeId);
+                }
+            }
+        }
+        return ids;
     }
 
-    protected Place buildEntity(PlaceRecord record) {
-        var place = Place.builder()
-                .label(record.label())
-                .location(record.location())
-                .days(new ArrayList<>())
-                .build();
+    /**
+     * Replaces label, location and all opening hours; the rows are reconciled with
+     * {@link #applyDays}, so only intervals that actually changed are written. Every call
+     * bumps the version, even when nothing else changed.
+     */
+    @Override
+    public VersionedPlaceRecord updatePlace(PlaceRecord updatedPlace, Long expectedVersion) {
+        var place = this.watermark.track(() -> {
+            var updated = this.transactions.withConflictRetry(updatedPlace.id(), expectedVersion, () -> {
+                var existingPlace = loadForUpdate(updatedPlace.id(), expectedVersion);
 
-        record.openingHours().days().forEach((day, intervals) -> {
-            var dayOfWeek = DayOfWeek.valueOf(day.toUpperCase());
-            intervals.forEach(intervalRecord -> {
-                var dayOpening = DayOpening.builder()
-                        .dayOfWeek(dayOfWeek)
-                        .startTime(intervalRecord.start())
-                        .endTime(intervalRecord.end())
-                        .type(intervalRecord.type())
-                        .place(place)
-                        .build();
-                place.getDays().add(dayOpening);
+                existingPlace.setLabel(updatedPlace.label());
+                existingPlace.setLocation(updatedPlace.location());
+                existingPlace.setLastModified(Instant.now());
+
+                var days = new EnumMap<DayOfWeek, List<OpenIntervalRecord>>(DayOfWeek.class);
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    days.put(day, List.of());
+                }
+                updatedPlace.openingHours().days().forEach((day, intervals) -> days.put(parseDay(day), intervals));
+                applyDays(existingPlace, days);
+                return existingPlace;
+            });
+            this.publisher.upserted(List.of(updated));
+            return updated;
+        });
+        return this.mapper.buildVersionedRecord(place);
+    }
+
+    /**
+     * Replaces the intervals of the listed days only. A patch that matches the stored hours
+     * writes nothing and keeps the version.
+     */
+    @Override
+    public VersionedPlaceRecord patchOpeningHours(Long id, OpeningHoursPatchRecord patch, Long expectedVersion) {
+        var days = new EnumMap<DayOfWeek, List<OpenIntervalRecord>>(DayOfWeek.class);
+        patch.days().forEach((day, intervals) -> days.put(parseDay(day), intervals));
+
+        var changed = new boolean[1];
+        var place = this.watermark.track(() -> {
+            var patched = this.transactions.withConflictRetry(id, expectedVersion, () -> {
+                var existingPlace = loadForUpdate(id, expectedVersion);
+                changed[0] = applyDays(existingPlace, days);
+                if (changed[0]) {
+                    existingPlace.setLastModified(Instant.now());
+                }
+                return existingPlace;
             });
+            if (changed[0]) {
+                this.publisher.upserted(List.of(patched));
+            }
+            return patched;
         });
+        return this.mapper.buildVersionedRecord(place);
+    }
+
+    /**
+     * Loads the place inside the update transaction and checks the version the client based
+     * its change on (If-Match); {@code null} means the client did not ask for one.
+     */
+    protected Place loadForUpdate(Long id, Long expectedVersion) {
+        var place = this.repository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Place not found: " + id));
+        if (expectedVersion != null && place.getVersion() != expectedVersion) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "Place " + id + " is at version " + place.getVersion() + ", not " + expectedVersion);
+        }
         return place;
     }
 
-    protected PlaceRecord buildRecord(Place place) {
-        var dayMap = place.getDays()
-                .stream()
-                .collect(Collectors.groupingBy(d -> d.getDayOfWeek().name().toLowerCase(),
-                        LinkedHashMap::new,
-                        Collectors.mapping(d -> new OpenIntervalRecord(d.getStartTime(),
-                                        d.getEndTime(),
-                                        d.getType()
-                                ), Collectors.toList()
-                        )
-                ));
-        return new PlaceRecord(place.getId(),
-                place.getLabel(),
-                place.getLocation(),
-                new OpeningHoursRecord(dayMap));
+    /**
+     * Reconciles the stored openings of the given days with the desired intervals using the
+     * fewest row changes: rows equal to a desired interval stay untouched, the remaining rows are
+     * updated in place (ordered by start), and only the surplus is inserted or deleted. Days
+     * missing from the map are left alone.
+     *
+     * @return whether any row was changed
+     */
+    protected boolean applyDays(Place place, Map<DayOfWeek, List<OpenIntervalRecord>> desired) {
+        var stored = new EnumMap<DayOfWeek, List<DayOpening>>(DayOfWeek.class);
+        for (DayOpening opening : place.getDays()) {
+            stored.computeIfAbsent(opening.getDayOfWeek(), day -> new ArrayList<>()).add(opening);
+        }
+
+        var changed = false;
+        var removed = Collections.newSetFromMap(new IdentityHashMap<DayOpening, Boolean>());
+        for (Map.Entry<DayOfWeek, List<OpenIntervalRecord>> entry : desired.entrySet()) {
+            var unmatched = new ArrayList<>(stored.getOrDefault(entry.getKey(), List.of()));
+            var missing = new ArrayList<DayOpening>();
+            for (OpenIntervalRecord interval : entry.getValue()) {
+                var wanted = DayOpening.builder()
+                        .dayOfWeek(entry.getKey())
+                        .startMinute(TimeHelper.toMinuteOfDay(interval.start()))
+                        .endMinute(TimeHelper.toEndMinuteOfDay(interval.end()))
+                        .type(interval.type())
+                        .place(place)
+                        .build();
+                if (!unmatched.removeIf(row -> sameInterval(row, wanted))) {
+                    missing.add(wanted);
+                }
+            }
+            unmatched.sort(Comparator.comparing(DayOpening::getStartMinute));
+            missing.sort(Comparator.comparing(DayOpening::getStartMinute));
+
+            for (int i = 0; i < missing.size(); i++) {
+                var wanted = missing.get(i);
+                if (i < unmatched.size()) {
+                    var row = unmatched.get(i);
+                    row.setStartMinute(wanted.getStartMinute());
+                    row.setEndMinute(wanted.getEndMinute());
+                    row.setType(wanted.getType());
+                } else {
+                    place.getDays().add(wanted);
+                }
+            }
+            for (int i = missing.size(); i < unmatched.size(); i++) {
+                removed.add(unmatched.get(i));
+            }
+            if (!missing.isEmpty() || unmatched.size() > missing.size()) {
+                changed = true;
+            }
+        }
+        place.getDays().removeIf(removed::contains);
+        return changed;
+    }
+
+    private static boolean sameInterval(DayOpening row, DayOpening wanted) {
+        return row.getStartMinute().equals(wanted.getStartMinute())
+                && row.getEndMinute().equals(wanted.getEndMinute())
+                && Objects.equals(row.getType(), wanted.getType());
+    }
+
+    private List<PlaceRecord> fromReadModel(List<Long> ids) {
+        return ids.stream()
+                .map(this.readModel::get)
+                .flatMap(Optional::stream)
+                .map(PlaceViewRecord::place)
+                .collect(Collectors.toList());
+    }
+
+    protected DayOfWeek parseDay(String day) {
+        try {
+            return DayOfWeek.valueOf(day.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid day of week: " + day);
+        }
     }
 
 }
\ No newline at end of file
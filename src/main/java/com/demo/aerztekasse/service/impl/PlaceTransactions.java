@@ -0,0 +1,114 @@
+package com.demo.aerztekasse.service.impl;
+
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.metrics.PlaceMetrics;
+import com.demo.aerztekasse.shard.PlaceShards;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs the write paths of the place service in programmatic transactions on the right shard:
+ * inserts, optimistic updates with retry, and arbitrary work on one shard. Everything returns
+ * or calls back only after the commit, so callers publish committed state.
+ */
+@Slf4j
+@Component
+public class PlaceTransactions {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final PlaceShards shards;
+    private final PlaceMetrics placeMetrics;
+    private final int maxUpdateAttempts;
+
+    public PlaceTransactions(EntityManager entityManager,
+                             TransactionTemplate transactionTemplate,
+                             PlaceShards shards,
+                             PlaceMetrics placeMetrics,
+                             @Value("${aerztekasse.update.max-attempts:3}") int maxUpdateAttempts) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = shards;
+        this.placeMetrics = placeMetrics;
+        this.maxUpdateAttempts = maxUpdateAttempts;
+    }
+
+    /**
+     * Inserts new places with one transaction and one flush per shard. With sharding enabled
+     * the ids are assigned up front to pick the shards; a failure on one shard does not roll
+     * back the shards already committed. {@code committed} receives the places of each shard
+     * right after its commit, so those are published even if a later shard fails.
+     */
+    public void persist(List<Place> entities, boolean clear, Consumer<List<Place>> committed) {
+        this.shards.assignIds(entities);
+        this.shards.partition(entities, Place::getId).forEach((shard, places) -> {
+            inTransaction(shard, () -> {
+                places.forEach(this.entityManager::persist);
+                this.entityManager.flush();
+                if (clear) {
+                    this.entityManager.clear();
+                }
+                return null;
+            });
+            committed.accept(places);
+        });
+    }
+
+    /**
+     * Runs the work in one transaction on the given shard and returns its result.
+     */
+    public <T> T inTransaction(int shard, Supplier<T> work) {
+        return this.shards.onShard(shard, () -> this.transactionTemplate.execute(status -> work.get()));
+    }
+
+    /**
+     * Runs an update in its own transaction. Setting lastModified dirties the place, so the
+     * flush increments its version and Hibernate rejects it if another transaction committed
+     * first. A conditional request (If-Match) is then answered with 412; an unconditional one
+     * is re-applied to the fresh state, because replacing the given fields or days is
+     * idempotent. After {@code maxUpdateAttempts} the client gets 409.
+     */
+    public Place withConflictRetry(Long id, Long expectedVersion, Supplier<Place> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return inTransaction(this.shards.shardOf(id), update);
+            } catch (ConcurrencyFailureException e) {
+                this.placeMetrics.recordUpdateConflict();
+                if (expectedVersion != null) {
+                    throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                            "Place " + id + " was modified concurrently", e);
+                }
+                if (attempt >= this.maxUpdateAttempts) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Place " + id + " was modified concurrently, gave up after " + attempt + " attempts", e);
+                }
+                log.debug("Update of place {} lost against a concurrent write, retrying (attempt {})", id, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Sleeps a random 0 to 2^attempt milliseconds, so retrying writers spread out instead of
+     * colliding again in lockstep.
+     */
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1L << Math.min(attempt, 6)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while retrying update", e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.demo.aerztekasse.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.helper.SequenceHelper;
+
+/**
+ * Maps place ids to shards and runs work on a shard. With sharding disabled there is a single
+ * shard 0, every method runs its work in place and ids are left to Hibernate.
+ * <p>
+ * A place lives on the shard its id hashes to, so with sharding enabled ids are allocated
+ * before the insert: blocks of {@link SequenceHelper#SEQUENCE_INCREMENT} are drawn from the
+ * PLACE_SEQ of the shards in turn, whose disjoint ranges make the ids unique across shards
+ * and application instances alike.
+ */
+@Component
+public class PlaceShards {
+
+    /**
+     * Fibonacci hashing constant; multiplying spreads the consecutive ids of one block evenly
+     * over the shards.
+     */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int count;
+
+    private long nextId;
+    private long blockEnd = -1;
+    private int nextBlockShard;
+
+    public PlaceShards(DataSource dataSource,
+                       @Value("${aerztekasse.sharding.enabled:false}") boolean enabled,
+                       @Value("${aerztekasse.sharding.urls:}") List<String> urls) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.count = enabled ? urls.size() : 1;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int count() {
+        return this.count;
+    }
+
+    public int shardOf(Long id) {
+        if (this.count == 1) {
+            return 0;
+        }
+        var hash = id * HASH_MULTIPLIER;
+        return Math.floorMod((int) (hash >>> 32), this.count);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        return this.enabled ? ShardContext.call(shard, work) : work.get();
+    }
+
+    public <T> T onShardOf(Long id, Supplier<T> work) {
+        return onShard(shardOf(id), work);
+    }
+
+    /**
+     * Groups items by the shard of their id, in shard order and keeping the order of the items
+     * within each shard.
+     */
+    public <T> Map<Integer, List<T>> partition(Collection<T> items, Function<T, Long> id) {
+        var partitions = new TreeMap<Integer, List<T>>();
+        for (T item : items) {
+            partitions.computeIfAbsent(shardOf(id.apply(item)), shard -> new ArrayList<>()).add(item);
+        }
+        return partitions;
+    }
+
+    /**
+     * Runs {@code work} once per shard and concatenates the results in shard order.
+     */
+    public <T> List<T> gather(Supplier<List<T>> work) {
+        var results = new ArrayList<T>();
+        for (int shard = 0; shard < this.count; shard++) {
+            results.addAll(onShard(shard, work));
+        }
+        return results;
+    }
+
+    /**
+     * Gives every new place its id ahead of the insert; a no-op unless sharding is enabled.
+     */
+    public synchronized void assignIds(Collection<Place> places) {
+        if (!this.enabled) {
+            return;
+        }
+        for (Place place : places) {
+            if (this.nextId > this.blockEnd) {
+                var shard = this.nextBlockShard;
+                this.nextBlockShard = (shard + 1) % this.count;
+                this.blockEnd = ShardContext.call(shard,
+                        () -> this.jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR PLACE_SEQ", Long.class));
+                this.nextId = this.blockEnd - SequenceHelper.SEQUENCE_INCREMENT + 1;
+            }
+            place.setId(this.nextId++);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.demo.aerztekasse.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread works on. {@link ShardRoutingDataSource} hands out connections
+ * of this shard, so it has to be set before a transaction starts and stays fixed until it ends.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the selected shard, or {@code null} when none is selected
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code work} on {@code shard} and restores the previous selection afterwards, so
+     * calls can nest.
+     */
+    public static <T> T call(int shard, Supplier<T> work) {
+        var previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.demo.aerztekasse.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.records.PlaceSearchHitRecord;
+
+/**
+ * Routes every PlaceRepository call to the shards that hold its places:
+ * <ul>
+ * <li>methods named {@code ...ById} run on the shard of the id; given a collection of ids,
+ * like those named {@code ...IdIn}, they run once per shard with that shard's ids;</li>
+ * <li>methods taking places (save, delete) run on the shard of each place's id;</li>
+ * <li>everything else is scattered to all shards.</li>
+ * </ul>
+ * Lists gathered from several shards are merged in id order and cut to the {@link Limit}
+ * argument if there is one; counts are summed. Each shard call runs in its own repository
+ * transaction. A caller that has already selected a shard (to run several calls in one
+ * transaction) is left on it; a transaction started without one would be bound to shard 0
+ * and is rejected.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "aerztekasse.sharding.enabled", havingValue = "true")
+public class ShardRoutingAspect {
+
+    private final PlaceShards shards;
+
+    public ShardRoutingAspect(PlaceShards shards) {
+        this.shards = shards;
+    }
+
+    @Around("this(com.demo.aerztekasse.repository.PlaceRepository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (method.getDeclaringClass() == Object.class || ShardContext.current() != null) {
+            return joinPoint.proceed();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("PlaceRepository." + method.getName()
+                    + " called in a transaction without a shard; start it inside PlaceShards.onShard");
+        }
+        var args = joinPoint.getArgs();
+        var first = args.length > 0 ? args[0] : null;
+        var byId = method.getName().endsWith("ById") || method.getName().endsWith("IdIn");
+
+        if (first instanceof Place place) {
+            return onShard(this.shards.shardOf(place.getId()), joinPoint, args);
+        }
+        if (byId && first instanceof Long id) {
+            return onShard(this.shards.shardOf(id), joinPoint, args);
+        }
+        var results = new ArrayList<>();
+        if (first instanceof Iterable<?> items && (byId || isPlaces(items))) {
+            var partitions = this.shards.partition(toList(items), ShardRoutingAspect::idOf);
+            for (var partition : partitions.entrySet()) {
+                var shardArgs = args.clone();
+                shardArgs[0] = partition.getValue();
+                results.add(onShard(partition.getKey(), joinPoint, shardArgs));
+            }
+        } else {
+            for (int shard = 0; shard < this.shards.count(); shard++) {
+                results.add(onShard(shard, joinPoint, args));
+            }
+        }
+        return gather(method.getReturnType(), results, args);
+    }
+
+    private static Object onShard(int shard, ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        try {
+            return ShardContext.call(shard, () -> {
+                try {
+                    return joinPoint.proceed(args);
+                } catch (Throwable e) {
+                    throw new ShardCallException(e);
+                }
+            });
+        } catch (ShardCallException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object gather(Class<?> type, List<Object> results, Object[] args) {
+        if (type == void.class) {
+            return null;
+        }
+        if (type == int.class || type == Integer.class) {
+            return results.stream().mapToInt(result -> (Integer) result).sum();
+        }
+        if (type == long.class || type == Long.class) {
+            return results.stream().mapToLong(result -> (Long) result).sum();
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return results.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        if (type == Optional.class) {
+            return results.stream()
+                    .map(result -> (Optional<?>) result)
+                    .flatMap(Optional::stream)
+                    .findFirst();
+        }
+        if (List.class.isAssignableFrom(type) || type == Iterable.class) {
+            var merged = new ArrayList<>();
+            results.forEach(result -> ((Iterable<?>) result).forEach(merged::add));
+            if (!merged.isEmpty() && idOf(merged.getFirst()) != null) {
+                merged.sort(Comparator.comparing(ShardRoutingAspect::idOf));
+            }
+            for (Object arg : args) {
+                if (arg instanceof Limit limit && limit.isLimited() && merged.size() > limit.max()) {
+                    return new ArrayList<>(merged.subList(0, limit.max()));
+                }
+            }
+            return merged;
+        }
+        throw new UnsupportedOperationException("Cannot merge results of type " + type.getName() + " from several shards");
+    }
+
+    private static boolean isPlaces(Iterable<?> items) {
+        var iterator = items.iterator();
+        return iterator.hasNext() && iterator.next() instanceof Place;
+    }
+
+    private static List<Object> toList(Iterable<?> items) {
+        if (items instanceof Collection<?> collection) {
+            return new ArrayList<>(collection);
+        }
+        var list = new ArrayList<>();
+        items.forEach(list::add);
+        return list;
+    }
+
+    private static Long idOf(Object item) {
+        if (item instanceof Long id) {
+            return id;
+        }
+        if (item instanceof Place place) {
+            return place.getId();
+        }
+        if (item instanceof PlaceSearchHitRecord hit) {
+            return hit.id();
+        }
+        return null;
+    }
+
+    /**
+     * Carries a checked exception of the repository call out of the {@link ShardContext} supplier.
+     */
+    private static final class ShardCallException extends RuntimeException {
+
+        ShardCallException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.demo.aerztekasse.shard;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.demo.aerztekasse.helper.SequenceHelper;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sharding mode: places are hash-partitioned by id over the datasources listed in
+ * {@code aerztekasse.sharding.urls}, behind a single routing datasource that JPA, the
+ * repositories and the transaction manager use as usual.
+ * <p>
+ * Each shard gets schema.sql on first use, and its PLACE_SEQ and DAY_OPENING_SEQ are moved to
+ * their own range of {@link #SHARD_ID_RANGE} values, so ids drawn from any shard are unique
+ * across all of them. The snapshot and the change log read the database directly and are not
+ * shard-aware, so they cannot be combined with this mode.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "aerztekasse.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /**
+     * 2^40 ids per shard; up to {@link #MAX_SHARDS} shards keep every id below 2^53, so ids
+     * stay exact in JSON numbers.
+     */
+    public static final long SHARD_ID_RANGE = 1L << 40;
+    public static final int MAX_SHARDS = 1 << 13;
+
+    private static final long SEQUENCE_START = 1000;
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(@Value("${aerztekasse.sharding.urls:}") List<String> urls,
+                                             @Value("${spring.datasource.username:sa}") String username,
+                                             @Value("${spring.datasource.password:}") String password,
+                                             @Value("${aerztekasse.snapshot.enabled:false}") boolean snapshot,
+                                             @Value("${aerztekasse.change-log.enabled:false}") boolean changeLog) throws SQLException {
+        if (urls.isEmpty() || urls.size() > MAX_SHARDS) {
+            throw new IllegalStateException("aerztekasse.sharding.urls must list between 1 and " + MAX_SHARDS + " JDBC URLs");
+        }
+        if (snapshot || changeLog) {
+            throw new IllegalStateException("aerztekasse.snapshot and aerztekasse.change-log are not supported with sharding");
+        }
+
+        var shards = new ArrayList<DataSource>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            var shard = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .username(username)
+                    .password(password)
+                    .build();
+            shard.setPoolName("shard-" + i);
+            initialize(i, shard);
+            shards.add(shard);
+        }
+        log.info("Sharding places over {} datasources", shards.size());
+        return new ShardRoutingDataSource(shards);
+    }
+
+    private static void initialize(int index, DataSource shard) throws SQLException {
+        try (var connection = shard.getConnection()) {
+            try (var tables = connection.getMetaData().getTables(null, "PUBLIC", "PLACE", null)) {
+                if (!tables.next()) {
+                    new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connection);
+                }
+            }
+            var floor = index * SHARD_ID_RANGE + SEQUENCE_START;
+            SequenceHelper.restartAtLeast(connection, "PLACE_SEQ", floor);
+            SequenceHelper.restartAtLeast(connection, "DAY_OPENING_SEQ", floor);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.demo.aerztekasse.snapshot;
+
+import java.io.IOException;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.demo.aerztekasse.records.SnapshotRecord;
+
+/**
+ * {@code POST /actuator/snapshot} writes a snapshot to the configured path on demand.
+ */
+@Component
+@Endpoint(id = "snapshot")
+public class PlaceSnapshotEndpoint {
+
+    private final PlaceSnapshotService snapshotService;
+
+    public PlaceSnapshotEndpoint(PlaceSnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    @WriteOperation
+    public SnapshotRecord write() throws IOException {
+        return this.snapshotService.write();
+    }
+}
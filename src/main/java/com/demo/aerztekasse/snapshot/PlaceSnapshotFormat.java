@@ -0,0 +1,32 @@
+package com.demo.aerztekasse.snapshot;
+
+/**
+ * Layout of a place snapshot file, all numbers big-endian:
+ * <pre>
+ * header   magic "AKSNAP" (6 bytes), format version (short), place count (long), opening count (long),
+ *          next PLACE_SEQ value (long), next DAY_OPENING_SEQ value (long)
+ * place    tag 1 (byte), id (long), version (long), last modified seconds (long) and nanos (int),
+ *          label (string), location (string)
+ * opening  tag 2 (byte), id (long), day of week ordinal (byte), start minute (short),
+ *          end minute (short), type (string)
+ * string   UTF-8 length in bytes (int, -1 for null) followed by the bytes
+ * </pre>
+ * Openings belong to the place record preceding them. The sequence values are the high-water
+ * marks of the ids handed out until the snapshot was taken, including ids of places deleted
+ * since, so a loaded snapshot never reissues them. Version 1 files lack them.
+ */
+final class PlaceSnapshotFormat {
+
+    static final byte[] MAGIC = { 'A', 'K', 'S', 'N', 'A', 'P' };
+    static final short VERSION = 2;
+    static final short VERSION_WITHOUT_SEQUENCES = 1;
+    static final int COUNTS_OFFSET = MAGIC.length + Short.BYTES;
+    static final int HEADER_SIZE_WITHOUT_SEQUENCES = COUNTS_OFFSET + 2 * Long.BYTES;
+    static final int HEADER_SIZE = HEADER_SIZE_WITHOUT_SEQUENCES + 2 * Long.BYTES;
+
+    static final byte PLACE = 1;
+    static final byte OPENING = 2;
+
+    private PlaceSnapshotFormat() {
+    }
+}
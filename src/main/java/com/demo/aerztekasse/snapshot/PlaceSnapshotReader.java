@@ -0,0 +1,101 @@
+package com.demo.aerztekasse.snapshot;
+
+import static com.demo.aerztekasse.snapshot.PlaceSnapshotFormat.*;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Reads a snapshot by memory-mapping the whole file, so decoding works straight on the page
+ * cache without copying the file through stream buffers. A single mapping is limited to 2 GB.
+ */
+public final class PlaceSnapshotReader {
+
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
+    private PlaceSnapshotReader() {
+    }
+
+    /**
+     * @return the number of places read
+     */
+    public static long read(Path path, PlaceSnapshotVisitor visitor) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + path + " exceeds 2 GB");
+            }
+            if (size < HEADER_SIZE_WITHOUT_SEQUENCES) {
+                throw new IOException("Snapshot " + path + " is truncated");
+            }
+            try {
+                return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), path, visitor);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                throw new IOException("Corrupt snapshot " + path, e);
+            }
+        }
+    }
+
+    private static long read(MappedByteBuffer buffer, Path path, PlaceSnapshotVisitor visitor) throws IOException {
+        var magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a place snapshot: " + path);
+        }
+        var version = buffer.getShort();
+        if (version != VERSION && version != VERSION_WITHOUT_SEQUENCES) {
+            throw new IOException("Unsupported snapshot version " + version + " in " + path);
+        }
+        var places = buffer.getLong();
+        var openings = buffer.getLong();
+        if (version == VERSION) {
+            visitor.sequences(buffer.getLong(), buffer.getLong());
+        }
+
+        var placeId = -1L;
+        var readPlaces = 0L;
+        var readOpenings = 0L;
+        while (buffer.hasRemaining()) {
+            var tag = buffer.get();
+            if (tag == PLACE) {
+                placeId = buffer.getLong();
+                var placeVersion = buffer.getLong();
+                var lastModified = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+                visitor.place(placeId, getString(buffer), getString(buffer), placeVersion, lastModified);
+                readPlaces++;
+            } else if (tag == OPENING && placeId >= 0) {
+                var id = buffer.getLong();
+                var day = DAYS[buffer.get()];
+                var start = buffer.getShort();
+                var end = buffer.getShort();
+                visitor.opening(id, placeId, day, start, end, getString(buffer));
+                readOpenings++;
+            } else {
+                throw new IOException("Corrupt snapshot " + path + " at offset " + (buffer.position() - 1));
+            }
+        }
+        if (readPlaces != places || readOpenings != openings) {
+            throw new IOException("Snapshot " + path + " is incomplete: expected " + places + " places and "
+                    + openings + " openings, read " + readPlaces + " and " + readOpenings);
+        }
+        return readPlaces;
+    }
+
+    private static String getString(MappedByteBuffer buffer) {
+        var length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,270 @@
+package com.demo.aerztekasse.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.demo.aerztekasse.helper.SequenceHelper;
+import com.demo.aerztekasse.records.SnapshotRecord;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes all places and opening hours into a binary snapshot and loads it back at startup.
+ * Enabled with {@code aerztekasse.snapshot.enabled=true}.
+ * <p>
+ * Loading replaces the rows inserted by data.sql with the snapshot content using plain JDBC
+ * batches, which is much cheaper than parsing and executing an SQL script of the same size.
+ * It runs as an {@link ApplicationRunner}, so it completes before the in-memory indexes and
+ * the read model load on {@code ApplicationReadyEvent}. The snapshot is written on shutdown
+ * when {@code aerztekasse.snapshot.write-on-shutdown} is set, or on demand through the
+ * {@code snapshot} actuator endpoint.
+ */
+@Slf4j
+@Component
+@Order(1)
+public class PlaceSnapshotService implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
+    private static final String SELECT_PLACES =
+            "SELECT ID, LABEL, LOCATION, VERSION, LAST_MODIFIED FROM PLACE ORDER BY ID";
+    private static final String SELECT_OPENINGS =
+            "SELECT ID, PLACE_ID, DAY_OF_WEEK, START_MINUTE, END_MINUTE, OPENING_TYPE FROM DAY_OPENING ORDER BY PLACE_ID, ID";
+    private static final String INSERT_PLACE =
+            "INSERT INTO PLACE(ID, LABEL, LOCATION, VERSION, LAST_MODIFIED) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_OPENING =
+            "INSERT INTO DAY_OPENING(ID, PLACE_ID, DAY_OF_WEEK, START_MINUTE, END_MINUTE, OPENING_TYPE) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final Path path;
+    private final boolean writeOnShutdown;
+
+    public PlaceSnapshotService(DataSource dataSource,
+                                @Value("${aerztekasse.snapshot.enabled:false}") boolean enabled,
+                                @Value("${aerztekasse.snapshot.path:data/places.snapshot}") Path path,
+                                @Value("${aerztekasse.snapshot.write-on-shutdown:true}") boolean writeOnShutdown) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.path = path;
+        this.writeOnShutdown = writeOnShutdown;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!this.enabled) {
+            return;
+        }
+        if (!Files.exists(this.path)) {
+            log.info("No snapshot at {}, keeping the initial data", this.path.toAbsolutePath());
+            return;
+        }
+        load(this.path);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void writeOnShutdown() {
+        if (!this.enabled || !this.writeOnShutdown) {
+            return;
+        }
+        try {
+            write(this.path);
+        } catch (IOException | RuntimeException e) {
+            log.error("Writing the snapshot to {} on shutdown failed", this.path.toAbsolutePath(), e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public SnapshotRecord write() throws IOException {
+        return write(this.path);
+    }
+
+    /**
+     * Streams both tables ordered by place id inside one repeatable-read transaction and merges
+     * them, so the snapshot is consistent without holding the places in memory. The sequences
+     * are read afterwards, so their recorded values lie above every id in the file.
+     */
+    public SnapshotRecord write(Path target) throws IOException {
+        var start = System.nanoTime();
+        var writer = new PlaceSnapshotWriter(target);
+        try (var connection = this.dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (var places = connection.prepareStatement(SELECT_PLACES);
+                 var openings = connection.prepareStatement(SELECT_OPENINGS)) {
+                places.setFetchSize(BATCH_SIZE);
+                openings.setFetchSize(BATCH_SIZE);
+                try (var placeRows = places.executeQuery(); var openingRows = openings.executeQuery()) {
+                    var hasOpening = openingRows.next();
+                    while (placeRows.next()) {
+                        var placeId = placeRows.getLong(1);
+                        writer.place(placeId, placeRows.getString(2), placeRows.getString(3),
+                                placeRows.getLong(4), placeRows.getObject(5, OffsetDateTime.class).toInstant());
+                        while (hasOpening && openingRows.getLong(2) == placeId) {
+                            writer.opening(openingRows.getLong(1), DAYS[openingRows.getInt(3)],
+                                    openingRows.getInt(4), openingRows.getInt(5), openingRows.getString(6));
+                            hasOpening = openingRows.next();
+                        }
+                    }
+                }
+                writer.sequences(SequenceHelper.nextValue(connection, "PLACE_SEQ"),
+                        SequenceHelper.nextValue(connection, "DAY_OPENING_SEQ"));
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            writer.abort();
+            throw new IOException("Reading places for the snapshot failed", e);
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+        writer.close();
+        var result = result(target, writer.places(), writer.openings(), start);
+        log.info("Snapshot written: {}", result);
+        return result;
+    }
+
+    /**
+     * Replaces the content of both tables with the snapshot in a single transaction and moves
+     * the id sequences past the loaded ids and up to the values recorded in the snapshot.
+     */
+    public SnapshotRecord load(Path source) throws IOException {
+        var start = System.nanoTime();
+        try (var connection = this.dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (var statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM DAY_OPENING");
+                statement.executeUpdate("DELETE FROM PLACE");
+            }
+            try (var loader = new BatchLoader(connection)) {
+                PlaceSnapshotReader.read(source, loader);
+                loader.flush();
+                SequenceHelper.restart(connection, "PLACE_SEQ", loader.maxPlaceId, loader.nextPlaceId);
+                SequenceHelper.restart(connection, "DAY_OPENING_SEQ", loader.maxOpeningId, loader.nextOpeningId);
+                connection.commit();
+                var result = result(source, loader.places, loader.openings, start);
+                log.info("Snapshot loaded: {}", result);
+                return result;
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Loading the snapshot " + source + " failed", e);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static SnapshotRecord result(Path path, long places, long openings, long start) throws IOException {
+        return new SnapshotRecord(path.toAbsolutePath().toString(), places, openings, Files.size(path),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Turns snapshot records into insert batches. Places are flushed before openings, so the
+     * foreign key always finds the place of a batched opening.
+     */
+    private static final class BatchLoader implements PlaceSnapshotVisitor, AutoCloseable {
+
+        private final PreparedStatement insertPlace;
+        private final PreparedStatement insertOpening;
+        private int pending;
+        private long places;
+        private long openings;
+        private long maxPlaceId;
+        private long maxOpeningId;
+        private long nextPlaceId;
+        private long nextOpeningId;
+
+        BatchLoader(Connection connection) throws SQLException {
+            this.insertPlace = connection.prepareStatement(INSERT_PLACE);
+            this.insertOpening = connection.prepareStatement(INSERT_OPENING);
+        }
+
+        @Override
+        public void sequences(long nextPlaceId, long nextOpeningId) {
+            this.nextPlaceId = nextPlaceId;
+            this.nextOpeningId = nextOpeningId;
+        }
+
+        @Override
+        public void place(long id, String label, String location, long version, Instant lastModified) {
+            try {
+                this.insertPlace.setLong(1, id);
+                this.insertPlace.setString(2, label);
+                this.insertPlace.setString(3, location);
+                this.insertPlace.setLong(4, version);
+                this.insertPlace.setObject(5, OffsetDateTime.ofInstant(lastModified, ZoneOffset.UTC));
+                this.insertPlace.addBatch();
+                this.places++;
+                this.maxPlaceId = Math.max(this.maxPlaceId, id);
+                if (++this.pending >= BATCH_SIZE) {
+                    flush();
+                }
+            } catch (SQLException e) {
+                throw new UncheckedIOException(new IOException("Inserting place " + id + " failed", e));
+            }
+        }
+
+        @Override
+        public void opening(long id, long placeId, DayOfWeek dayOfWeek, int startMinute, int endMinute, String type) {
+            try {
+                this.insertOpening.setLong(1, id);
+                this.insertOpening.setLong(2, placeId);
+                this.insertOpening.setInt(3, dayOfWeek.ordinal());
+                this.insertOpening.setInt(4, startMinute);
+                this.insertOpening.setInt(5, endMinute);
+                this.insertOpening.setString(6, type);
+                this.insertOpening.addBatch();
+                this.openings++;
+                this.maxOpeningId = Math.max(this.maxOpeningId, id);
+                if (++this.pending >= BATCH_SIZE) {
+                    flush();
+                }
+            } catch (SQLException e) {
+                throw new UncheckedIOException(new IOException("Inserting opening " + id + " failed", e));
+            }
+        }
+
+        void flush() throws SQLException {
+            this.insertPlace.executeBatch();
+            this.insertOpening.executeBatch();
+            this.pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                this.insertPlace.close();
+            } finally {
+                this.insertOpening.close();
+            }
+        }
+    }
+}
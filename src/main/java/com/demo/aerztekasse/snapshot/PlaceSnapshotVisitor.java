@@ -0,0 +1,22 @@
+package com.demo.aerztekasse.snapshot;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+
+/**
+ * Receives the records of a snapshot in file order: the sequence values from the header, then
+ * each place followed by its openings.
+ */
+public interface PlaceSnapshotVisitor {
+
+    /**
+     * Receives the next values the id sequences stood at when the snapshot was written; not
+     * called for snapshots written before they were recorded.
+     */
+    default void sequences(long nextPlaceId, long nextOpeningId) {
+    }
+
+    void place(long id, String label, String location, long version, Instant lastModified);
+
+    void opening(long id, long placeId, DayOfWeek dayOfWeek, int startMinute, int endMinute, String type);
+}
@@ -0,0 +1,148 @@
+package com.demo.aerztekasse.snapshot;
+
+import static com.demo.aerztekasse.snapshot.PlaceSnapshotFormat.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Instant;
+
+/**
+ * Streams places and their openings into a snapshot file through a direct buffer. The data
+ * goes to a temporary file that is forced to disk and atomically moved over the target on
+ * {@link #close()}, so readers never see a half-written snapshot.
+ */
+public class PlaceSnapshotWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long places;
+    private long openings;
+    private long nextPlaceId;
+    private long nextOpeningId;
+    private boolean placeWritten;
+
+    public PlaceSnapshotWriter(Path target) throws IOException {
+        this.target = target.toAbsolutePath();
+        if (this.target.getParent() != null) {
+            Files.createDirectories(this.target.getParent());
+        }
+        this.temporary = this.target.resolveSibling(this.target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(this.temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.buffer.put(MAGIC).putShort(VERSION).putLong(0).putLong(0).putLong(0).putLong(0);
+    }
+
+    public void place(long id, String label, String location, long version, Instant lastModified) throws IOException {
+        var labelBytes = bytes(label);
+        var locationBytes = bytes(location);
+        ensure(1 + 3 * Long.BYTES + Integer.BYTES + length(labelBytes) + length(locationBytes));
+        this.buffer.put(PLACE)
+                .putLong(id)
+                .putLong(version)
+                .putLong(lastModified.getEpochSecond())
+                .putInt(lastModified.getNano());
+        putString(labelBytes);
+        putString(locationBytes);
+        this.places++;
+        this.placeWritten = true;
+    }
+
+    public void opening(long id, DayOfWeek dayOfWeek, int startMinute, int endMinute, String type) throws IOException {
+        if (!this.placeWritten) {
+            throw new IllegalStateException("An opening must follow its place");
+        }
+        var typeBytes = bytes(type);
+        ensure(1 + Long.BYTES + 1 + 2 * Short.BYTES + length(typeBytes));
+        this.buffer.put(OPENING)
+                .putLong(id)
+                .put((byte) dayOfWeek.ordinal())
+                .putShort((short) startMinute)
+                .putShort((short) endMinute);
+        putString(typeBytes);
+        this.openings++;
+    }
+
+    /**
+     * Records the next values of the id sequences, written into the header on {@link #close()}.
+     */
+    public void sequences(long nextPlaceId, long nextOpeningId) {
+        this.nextPlaceId = nextPlaceId;
+        this.nextOpeningId = nextOpeningId;
+    }
+
+    public long places() {
+        return this.places;
+    }
+
+    public long openings() {
+        return this.openings;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (this.channel) {
+            flush();
+            var counts = ByteBuffer.allocate(HEADER_SIZE - COUNTS_OFFSET)
+                    .putLong(this.places)
+                    .putLong(this.openings)
+                    .putLong(this.nextPlaceId)
+                    .putLong(this.nextOpeningId)
+                    .flip();
+            this.channel.write(counts, COUNTS_OFFSET);
+            this.channel.force(true);
+        }
+        Files.move(this.temporary, this.target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Drops the temporary file without touching an existing snapshot.
+     */
+    public void abort() throws IOException {
+        this.channel.close();
+        Files.deleteIfExists(this.temporary);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            flush();
+        }
+        if (this.buffer.remaining() < bytes) {
+            throw new IllegalArgumentException("Record of " + bytes + " bytes exceeds the write buffer");
+        }
+    }
+
+    private void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    private void putString(byte[] bytes) {
+        if (bytes == null) {
+            this.buffer.putInt(-1);
+            return;
+        }
+        this.buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+}
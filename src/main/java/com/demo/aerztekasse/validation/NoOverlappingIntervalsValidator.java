@@ -0,0 +1,120 @@
+package com.demo.aerztekasse.validation;
+
+import com.demo.aerztekasse.annotation.NoOverlappingIntervals;
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.demo.aerztekasse.records.OpenIntervalRecord;
+import com.demo.aerztekasse.records.OpeningHoursRecord;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.time.DayOfWeek;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the intervals of each day together: every time is resolved to minutes through
+ * TimeHelper's lookup table, which the field level constraints use as well, so no time is
+ * parsed again. The intervals of a day are sorted by start and each one is compared with the
+ * earlier interval reaching furthest, so the whole record is validated in O(n log n).
+ * Intervals with a missing or malformed time, or with start not before end, are left to the
+ * field level constraints.
+ */
+public class NoOverlappingIntervalsValidator
+    implements ConstraintValidator<NoOverlappingIntervals, OpeningHoursRecord> {
+
+    @Override
+    public boolean isValid(OpeningHoursRecord rec, ConstraintValidatorContext ctx) {
+        return rec == null || isValid(rec.days(), ctx);
+    }
+
+    boolean isValid(Map<String, List<OpenIntervalRecord>> days, ConstraintValidatorContext ctx) {
+        if (days == null) {
+            return true;
+        }
+
+        var valid = true;
+        Map<DayOfWeek, int[]> packedByDay = new EnumMap<>(DayOfWeek.class);
+        for (Map.Entry<String, List<OpenIntervalRecord>> entry : days.entrySet()) {
+            var day = parseDay(entry.getKey());
+            if (day == null) {
+                valid = addViolation(ctx, "Invalid day of week, expected monday to sunday");
+                continue;
+            }
+            if (entry.getValue() != null) {
+                packedByDay.merge(day, pack(entry.getValue()), NoOverlappingIntervalsValidator::concat);
+            }
+        }
+
+        for (Map.Entry<DayOfWeek, int[]> entry : packedByDay.entrySet()) {
+            var packed = entry.getValue();
+            Arrays.sort(packed);
+            for (int i = 1, reaching = 0; i < packed.length; i++) {
+                var previous = packed[reaching];
+                var current = packed[i];
+                if ((current >>> 16) < (previous & 0xFFFF)) {
+                    var kind = previous == current ? "Duplicate" : "Overlapping";
+                    valid = addViolation(ctx, kind + " intervals on " + entry.getKey().name().toLowerCase() + ": "
+                            + TimeHelper.formatInterval(previous >>> 16, previous & 0xFFFF) + " and "
+                            + TimeHelper.formatInterval(current >>> 16, current & 0xFFFF));
+                }
+                if ((current & 0xFFFF) > (previous & 0xFFFF)) {
+                    reaching = i;
+                }
+            }
+        }
+        return valid;
+    }
+
+    private int[] pack(List<OpenIntervalRecord> intervals) {
+        var packed = new int[intervals.size()];
+        var n = 0;
+        for (OpenIntervalRecord interval : intervals) {
+            if (interval == null || interval.start() == null || interval.end() == null) {
+                continue;
+            }
+            try {
+                var start = TimeHelper.toMinuteOfDay(interval.start());
+                var end = TimeHelper.toEndMinuteOfDay(interval.end());
+                if (start < end) {
+                    packed[n++] = start << 16 | end;
+                }
+            } catch (DateTimeParseException e) {
+                // reported by ValidTime
+            }
+        }
+        return n == packed.length ? packed : Arrays.copyOf(packed, n);
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        var merged = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, merged, first.length, second.length);
+        return merged;
+    }
+
+    private DayOfWeek parseDay(String day) {
+        if (day == null) {
+            return null;
+        }
+        try {
+            return DayOfWeek.valueOf(day.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Messages only contain parsed day names and re-formatted times, never raw input, so
+     * nothing user supplied reaches message interpolation.
+     */
+    private boolean addViolation(ConstraintValidatorContext ctx, String message) {
+        ctx.disableDefaultConstraintViolation();
+        ctx.buildConstraintViolationWithTemplate(message)
+                .addPropertyNode("days")
+                .addConstraintViolation();
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.demo.aerztekasse.validation;
+
+import com.demo.aerztekasse.annotation.NoOverlappingIntervals;
+import com.demo.aerztekasse.records.OpeningHoursPatchRecord;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Applies the overlap check of {@link NoOverlappingIntervalsValidator} to the days of a patch.
+ */
+public class NoOverlappingPatchIntervalsValidator
+    implements ConstraintValidator<NoOverlappingIntervals, OpeningHoursPatchRecord> {
+
+    private final NoOverlappingIntervalsValidator delegate = new NoOverlappingIntervalsValidator();
+
+    @Override
+    public boolean isValid(OpeningHoursPatchRecord rec, ConstraintValidatorContext ctx) {
+        return rec == null || this.delegate.isValid(rec.days(), ctx);
+    }
+}
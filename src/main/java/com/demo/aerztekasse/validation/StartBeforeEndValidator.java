@@ -1,13 +1,13 @@
 package com.demo.aerztekasse.validation;
 
 import com.demo.aerztekasse.annotation.StartBeforeEnd;
+import com.demo.aerztekasse.helper.TimeHelper;
 import com.demo.aerztekasse.records.OpenIntervalRecord;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 
 @Slf4j
@@ -20,19 +20,23 @@ public class StartBeforeEndValidator
         	return true;
         }
 
+        if (rec.start() == null || rec.end() == null) {
+            return true;
+        }
+
         try {
-            LocalTime start = LocalTime.parse(rec.start());
-            LocalTime end   = LocalTime.parse(rec.end());
+            var start = TimeHelper.toMinuteOfDay(rec.start());
+            var end   = TimeHelper.toMinuteOfDay(rec.end());
 
-            if (start.equals(end)) {
+            if (start == end) {
                 return false;
             }
 
-            if (end.equals(LocalTime.MIDNIGHT)) {
+            if (end == 0) {
                 return true;
             }
             
-            return start.isBefore(end);
+            return start < end;
         } catch (DateTimeParseException ex) {
         	log.error("The ValidTime annotation will validate");
         	return true;
@@ -1,6 +1,8 @@
 package com.demo.aerztekasse.validation;
 
 import com.demo.aerztekasse.annotation.ValidTime;
+import com.demo.aerztekasse.helper.TimeHelper;
+
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import lombok.extern.slf4j.Slf4j;
@@ -12,11 +14,15 @@ import java.time.format.DateTimeParseException;
 @Slf4j
 public class TimeFormatValidator implements ConstraintValidator<ValidTime, String> {
 
-    private String pattern;
+    private static final String DEFAULT_PATTERN = "HH:mm";
+
+    private DateTimeFormatter formatter;
+    private boolean defaultPattern;
 
     @Override
     public void initialize(ValidTime constraintAnnotation) {
-        this.pattern = constraintAnnotation.pattern();
+        this.formatter = DateTimeFormatter.ofPattern(constraintAnnotation.pattern());
+        this.defaultPattern = DEFAULT_PATTERN.equals(constraintAnnotation.pattern());
     }
 
     @Override
@@ -24,9 +30,11 @@ public class TimeFormatValidator implements ConstraintValidator<ValidTime, Strin
         if (value == null || value.isBlank()) {
             return true;
         }
+        if (this.defaultPattern && TimeHelper.isTime(value)) {
+            return true;
+        }
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-            LocalTime.parse(value, formatter);
+            LocalTime.parse(value, this.formatter);
             return true;
         } catch (DateTimeParseException e) {
             log.error("Error on TimeFormatValidator -> {0}", e);
@@ -1,47 +1,25 @@
--- H2 2.3.232;
-SET DB_CLOSE_DELAY -1;        
-;             
-CREATE USER IF NOT EXISTS "SA" SALT '2e11dca72310cd35' HASH '12941fc31a40b98b255725619fd96117f069457f35a89b79bd41459d7affe646' ADMIN;         
-CREATE MEMORY TABLE "PUBLIC"."DAY_OPENING"(
-    "DAY_OF_WEEK" TINYINT NOT NULL,
-    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1 RESTART WITH 21) NOT NULL,
-    "PLACE_ID" BIGINT NOT NULL,
-    "END_TIME" CHARACTER VARYING(255) NOT NULL,
-    "OPENING_TYPE" CHARACTER VARYING(255),
-    "START_TIME" CHARACTER VARYING(255) NOT NULL
-);
-ALTER TABLE "PUBLIC"."DAY_OPENING" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_8B" PRIMARY KEY("ID"); 
--- 20 +/- SELECT COUNT(*) FROM PUBLIC.DAY_OPENING;            
-INSERT INTO "PUBLIC"."DAY_OPENING" VALUES
-(1, 1, 1, '15:00', 'OPEN', '11:30'),
-(1, 2, 1, '00:00', 'OPEN', '18:30'),
-(2, 3, 1, '15:00', 'OPEN', '11:30'),
-(2, 4, 1, '00:00', 'OPEN', '18:30'),
-(3, 5, 1, '15:00', 'OPEN', '11:30'),
-(3, 6, 1, '00:00', 'OPEN', '18:30'),
-(4, 7, 1, '15:00', 'OPEN', '11:30'),
-(4, 8, 1, '00:00', 'OPEN', '18:30'),
-(5, 9, 1, '00:00', 'OPEN', '18:00'),
-(6, 10, 1, '15:00', 'OPEN', '11:30'),
-(0, 11, 2, '14:00', 'OPEN', '11:30'),
-(0, 12, 2, '22:00', 'OPEN', '18:30'),
-(1, 13, 2, '14:00', 'OPEN', '11:30'),
-(1, 14, 2, '22:00', 'OPEN', '18:30'),
-(2, 15, 2, '14:00', 'OPEN', '11:30'),
-(2, 16, 2, '22:00', 'OPEN', '18:30'),
-(3, 17, 2, '14:00', 'OPEN', '11:30'),
-(3, 18, 2, '22:00', 'OPEN', '18:30'),
-(4, 19, 2, '14:00', 'OPEN', '11:30'),
-(4, 20, 2, '22:00', 'OPEN', '18:30');  
-CREATE MEMORY TABLE "PUBLIC"."PLACE"(
-    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1 RESTART WITH 3) NOT NULL,
-    "LABEL" CHARACTER VARYING(255),
-    "LOCATION" CHARACTER VARYING(255)
-);
-ALTER TABLE "PUBLIC"."PLACE" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_4" PRIMARY KEY("ID");        
--- 2 +/- SELECT COUNT(*) FROM PUBLIC.PLACE;   
-INSERT INTO "PUBLIC"."PLACE" VALUES
+INSERT INTO "PUBLIC"."PLACE"("ID", "LABEL", "LOCATION") VALUES
 (1, U&'Le Caf\00e9 du March\00e9', 'Rue de Conthey 17, 1950 Sion'),
-(2, 'Casa Ferlin', U&'Stampfenbachstrasse 38, 8006 Z\00fcrich');    
-ALTER TABLE "PUBLIC"."DAY_OPENING" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_8" CHECK("DAY_OF_WEEK" BETWEEN 0 AND 6) NOCHECK;       
-ALTER TABLE "PUBLIC"."DAY_OPENING" ADD CONSTRAINT "PUBLIC"."FKCXABXNN39NDWBMG0UQSY3CMH8" FOREIGN KEY("PLACE_ID") REFERENCES "PUBLIC"."PLACE"("ID") NOCHECK;   
+(2, 'Casa Ferlin', U&'Stampfenbachstrasse 38, 8006 Z\00fcrich');
+
+INSERT INTO "PUBLIC"."DAY_OPENING"("DAY_OF_WEEK", "ID", "PLACE_ID", "END_MINUTE", "OPENING_TYPE", "START_MINUTE") VALUES
+(1, 1, 1, 900, 'OPEN', 690),
+(1, 2, 1, 1440, 'OPEN', 1110),
+(2, 3, 1, 900, 'OPEN', 690),
+(2, 4, 1, 1440, 'OPEN', 1110),
+(3, 5, 1, 900, 'OPEN', 690),
+(3, 6, 1, 1440, 'OPEN', 1110),
+(4, 7, 1, 900, 'OPEN', 690),
+(4, 8, 1, 1440, 'OPEN', 1110),
+(5, 9, 1, 1440, 'OPEN', 1080),
+(6, 10, 1, 900, 'OPEN', 690),
+(0, 11, 2, 840, 'OPEN', 690),
+(0, 12, 2, 1320, 'OPEN', 1110),
+(1, 13, 2, 840, 'OPEN', 690),
+(1, 14, 2, 1320, 'OPEN', 1110),
+(2, 15, 2, 840, 'OPEN', 690),
+(2, 16, 2, 1320, 'OPEN', 1110),
+(3, 17, 2, 840, 'OPEN', 690),
+(3, 18, 2, 1320, 'OPEN', 1110),
+(4, 19, 2, 840, 'OPEN', 690),
+(4, 20, 2, 1320, 'OPEN', 1110);
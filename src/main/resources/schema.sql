@@ -0,0 +1,30 @@
+CREATE TABLE "PUBLIC"."PLACE"(
+    "ID" BIGINT NOT NULL,
+    "LABEL" CHARACTER VARYING(255),
+    "LOCATION" CHARACTER VARYING(255),
+    "VERSION" BIGINT DEFAULT 0 NOT NULL,
+    "LAST_MODIFIED" TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT "PK_PLACE" PRIMARY KEY("ID")
+);
+
+CREATE TABLE "PUBLIC"."DAY_OPENING"(
+    "ID" BIGINT NOT NULL,
+    "PLACE_ID" BIGINT NOT NULL,
+    "DAY_OF_WEEK" TINYINT NOT NULL,
+    "START_MINUTE" SMALLINT NOT NULL,
+    "END_MINUTE" SMALLINT NOT NULL,
+    "OPENING_TYPE" CHARACTER VARYING(255),
+    CONSTRAINT "PK_DAY_OPENING" PRIMARY KEY("ID"),
+    CONSTRAINT "CK_DAY_OPENING_DAY_OF_WEEK" CHECK("DAY_OF_WEEK" BETWEEN 0 AND 6),
+    -- Minutes of the day; an interval closing at midnight ends at 1440, so no interval wraps.
+    CONSTRAINT "CK_DAY_OPENING_MINUTES" CHECK("START_MINUTE" BETWEEN 0 AND 1439 AND "END_MINUTE" BETWEEN 1 AND 1440 AND "START_MINUTE" < "END_MINUTE")
+);
+
+CREATE SEQUENCE "PUBLIC"."PLACE_SEQ" START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE "PUBLIC"."DAY_OPENING_SEQ" START WITH 1000 INCREMENT BY 50;
+
+-- "Open at" / "open between" lookups: equality on the day, range on the start minute.
+CREATE INDEX "PUBLIC"."IDX_DAY_OPENING_DAY_START_END" ON "PUBLIC"."DAY_OPENING"("DAY_OF_WEEK", "START_MINUTE", "END_MINUTE");
+-- H2 backs the foreign key with its own PLACE_ID index, which serves loading the days of a set
+-- of places.
+ALTER TABLE "PUBLIC"."DAY_OPENING" ADD CONSTRAINT "FK_DAY_OPENING_PLACE" FOREIGN KEY("PLACE_ID") REFERENCES "PUBLIC"."PLACE"("ID");
@@ -2,6 +2,9 @@ package com.demo.aerztekasse;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -11,14 +14,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.util.StreamUtils;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -119,6 +129,19 @@ class AerztekasseApplicationTests {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    @ParameterizedTest
+    @DisplayName("Test createPlace endpoint - bad request for overlapping, duplicate or unknown days")
+    @CsvSource({"places_overlap_1.json", "places_overlap_2.json", "places_overlap_3.json"})
+    void createPlaceOverlappingIntervals(String fileName) throws Exception {
+        var json = readJsonFile(fileName);
+
+        this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     @DisplayName("Test groupedOpeningHoursStructure endpoint")
     void groupedOpeningHoursStructure() throws Exception {
@@ -178,4 +201,790 @@ class AerztekasseApplicationTests {
                 .andExpect(jsonPath("$.label").value("Stadio Giuseppe Meazza"))
                 .andExpect(jsonPath("$.location").value("Piazzale Angelo Moratti, 20151 Milano MI, Itália"));
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @DisplayName("Test openAt endpoint - intervals ending at 00:00 stay open until midnight")
+    @CsvSource({"tuesday,19:15", "tuesday,23:59", "SUNDAY,11:30"})
+    void openAt(String day, String time) throws Exception {
+        this.mockMvc.perform(get("/places/open-at")
+                        .param("day", day)
+                        .param("time", time))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[*].id", hasItem(1)));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test openAt endpoint - closed days and interval ends are excluded")
+    @CsvSource({"monday,12:00", "sunday,15:00", "tuesday,16:00"})
+    void closedAt(String day, String time) throws Exception {
+        this.mockMvc.perform(get("/places/open-at")
+                        .param("day", day)
+                        .param("time", time))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(1))));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test openAt endpoint - bad request for invalid day or time")
+    @CsvSource({"someday,12:00", "monday,25:00"})
+    void openAtBadRequest(String day, String time) throws Exception {
+        this.mockMvc.perform(get("/places/open-at")
+                        .param("day", day)
+                        .param("time", time))
+                .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test openBetween endpoint - whole and any window, including windows ending at midnight")
+    @CsvSource({
+            "friday,19:00,22:00,whole",
+            "friday,23:00,00:00,whole",
+            "saturday,18:00,00:00,whole",
+            "friday,14:00,19:00,any",
+            "FRIDAY,23:59,00:00,any"
+    })
+    void openBetween(String day, String from, String to, String mode) throws Exception {
+        this.mockMvc.perform(get("/places/open-between")
+                        .param("day", day)
+                        .param("from", from)
+                        .param("to", to)
+                        .param("mode", mode))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[*].id", hasItem(1)));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test openBetween endpoint - partial coverage, gaps and closed days are excluded")
+    @CsvSource({
+            "friday,14:00,19:00,whole",
+            "friday,15:00,18:30,any",
+            "saturday,17:00,18:00,any",
+            "monday,12:00,13:00,any"
+    })
+    void closedBetween(String day, String from, String to, String mode) throws Exception {
+        this.mockMvc.perform(get("/places/open-between")
+                        .param("day", day)
+                        .param("from", from)
+                        .param("to", to)
+                        .param("mode", mode))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(1))));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test openBetween endpoint - back-to-back intervals cover a whole window together, a gap does not")
+    @CsvSource({
+            "18:00,22:00,true",
+            "19:00,21:00,true",
+            "18:00,23:00,false",
+            "19:00,23:30,false"
+    })
+    void openBetweenBackToBack(String from, String to, boolean covered) throws Exception {
+        var place = """
+                [{"label": "Back to back", "location": "Nowhere 1", "opening_hours": {"days": {"sunday": [
+                    {"start": "18:00", "end": "20:00", "type": "OPEN"},
+                    {"start": "20:00", "end": "22:00", "type": "OPEN"},
+                    {"start": "22:30", "end": "23:30", "type": "OPEN"}
+                ]}}}]""";
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(place))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var createdId = this.objectMapper.readTree(postResult).get(0).get("id").asInt();
+
+        this.mockMvc.perform(get("/places/open-between")
+                        .param("day", "sunday")
+                        .param("from", from)
+                        .param("to", to)
+                        .param("mode", "whole"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", covered ? hasItem(createdId) : not(hasItem(createdId))));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test openBetween endpoint - bad request for invalid day, window or mode")
+    @CsvSource({
+            "someday,18:00,22:00,whole",
+            "friday,22:00,18:00,whole",
+            "friday,18:00,18:00,any",
+            "friday,18:00,25:00,any",
+            "friday,18:00,22:00,sometimes"
+    })
+    void openBetweenBadRequest(String day, String from, String to, String mode) throws Exception {
+        this.mockMvc.perform(get("/places/open-between")
+                        .param("day", day)
+                        .param("from", from)
+                        .param("to", to)
+                        .param("mode", mode))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test openAt endpoint - index follows created places")
+    void openAtAfterCreate() throws Exception {
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(readJsonFile("places.json")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var createdId = this.objectMapper.readTree(postResult).get(0).get("id").asLong();
+
+        var openResult = this.mockMvc.perform(get("/places/open-at")
+                        .param("day", "wednesday")
+                        .param("time", "23:30"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var ids = new ArrayList<Long>();
+        this.objectMapper.readTree(openResult).forEach(node -> ids.add(node.get("id").asLong()));
+        assertThat(ids).contains(createdId);
+    }
+
+    @Test
+    @DisplayName("Test groupedOpeningHours cache - updatePlace invalidates the cached grouping")
+    void groupedOpeningHoursCacheInvalidation() throws Exception {
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(readJsonFile("places.json")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var createdId = this.objectMapper.readTree(postResult).get(0).get("id").asLong();
+
+        this.mockMvc.perform(get("/places/{id}/opening-hours/grouped", createdId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openingHours[*].intervals[*]", not(hasItem("08:00 - 12:00"))));
+
+        var updateNode = (ObjectNode) this.objectMapper.readTree(readJsonFile("place_update.json"));
+        updateNode.put("id", createdId);
+        ((ObjectNode) updateNode.get("openingHours").get("days"))
+                .set("monday", this.objectMapper.readTree("[{\"start\": \"08:00\", \"end\": \"12:00\", \"type\": \"OPEN\"}]"));
+
+        this.mockMvc.perform(put("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(updateNode)))
+                .andExpect(status().isOk());
+
+        this.mockMvc.perform(get("/places/{id}/opening-hours/grouped", createdId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openingHours[0].day").value("Monday"))
+                .andExpect(jsonPath("$.openingHours[0].intervals[0]").value("08:00 - 12:00"));
+    }
+
+    @Test
+    @DisplayName("Test groupedOpeningHours cache - hit and miss counters exposed through actuator")
+    void groupedOpeningHoursCacheMetrics() throws Exception {
+        this.mockMvc.perform(get("/places/1/opening-hours/grouped"))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/places/1/opening-hours/grouped"))
+                .andExpect(status().isOk());
+
+        this.mockMvc.perform(get("/actuator/metrics/cache.gets")
+                        .param("tag", "cache:groupedOpeningHours")
+                        .param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").isNumber());
+    }
+
+    @Test
+    @DisplayName("Test listPage endpoint - keyset pagination by id")
+    void listPage() throws Exception {
+        this.mockMvc.perform(get("/places")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.places.length()").value(1))
+                .andExpect(jsonPath("$.places[0].id").value(1))
+                .andExpect(jsonPath("$.nextAfterId").value(1));
+
+        var response = this.mockMvc.perform(get("/places")
+                        .param("afterId", "1")
+                        .param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextAfterId").doesNotExist())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        for (JsonNode place : this.objectMapper.readTree(response).get("places")) {
+            assertThat(place.get("id").asLong()).isGreaterThan(1L);
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test listPage endpoint - bad request for invalid limit")
+    @CsvSource({"0", "1001"})
+    void listPageBadRequest(String limit) throws Exception {
+        this.mockMvc.perform(get("/places")
+                        .param("limit", limit))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test streamAll endpoint - one place per line")
+    void streamAll() throws Exception {
+        var result = this.mockMvc.perform(get("/places/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        var lines = body.lines().toList();
+        assertThat(lines).isNotEmpty();
+        for (String line : lines) {
+            assertThat(this.objectMapper.readTree(line).get("id").isNumber()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Test bulkSavePlaces endpoint")
+    void bulkSavePlaces() throws Exception {
+        var json = readJsonFile("places.json");
+
+        var response = this.mockMvc.perform(post("/places/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saved").value(1))
+                .andExpect(jsonPath("$.ids.length()").value(1))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var id = this.objectMapper.readTree(response).get("ids").get(0).asLong();
+        this.mockMvc.perform(get("/places/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.label").value("Stadio Giuseppe Meazza"))
+                .andExpect(jsonPath("$.openingHours.days.wednesday.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Test bulkSavePlaces endpoint - bad request validation")
+    void bulkSavePlacesBadRequest() throws Exception {
+        var json = readJsonFile("places_bad_request.json");
+
+        this.mockMvc.perform(post("/places/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test bulkDelete endpoint - deletes the existing ids and reports the unknown ones")
+    void bulkDelete() throws Exception {
+        var place = this.objectMapper.readTree(readJsonFile("places.json")).get(0);
+        var response = this.mockMvc.perform(post("/places/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(this.objectMapper.createArrayNode().add(place).add(place))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var ids = this.objectMapper.readTree(response).get("ids");
+        var first = ids.get(0).asInt();
+        var second = ids.get(1).asInt();
+
+        this.mockMvc.perform(post("/places/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + second + ", 999999, " + first + ", " + first + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andExpect(jsonPath("$.ids").value(contains(first, second)))
+                .andExpect(jsonPath("$.notFound").value(contains(999999)));
+
+        this.mockMvc.perform(get("/places/{id}", first))
+                .andExpect(status().isNotFound());
+        this.mockMvc.perform(get("/places/opening-hours/grouped").param("ids", first + "," + second))
+                .andExpect(jsonPath("$['" + first + "'].status").value("not_found"))
+                .andExpect(jsonPath("$['" + second + "'].status").value("not_found"));
+
+        this.mockMvc.perform(post("/places/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"modifiedBefore\": \"2000-01-01T00:00:00Z\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(0))
+                .andExpect(jsonPath("$.notFound.length()").value(0));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test bulkDelete endpoint - bad request for no selection, both selections or invalid ids")
+    @CsvSource(delimiter = '|', value = {
+            "{}",
+            "{\"ids\": []}",
+            "{\"ids\": [null]}",
+            "{\"ids\": [1], \"modifiedBefore\": \"2000-01-01T00:00:00Z\"}"
+    })
+    void bulkDeleteBadRequest(String body) throws Exception {
+        this.mockMvc.perform(post("/places/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test importPlaces endpoint - per-line results and summary")
+    void importPlaces() throws Exception {
+        var valid = this.objectMapper.readTree(readJsonFile("places.json")).get(0);
+        var invalid = ((ObjectNode) valid.deepCopy()).put("label", "");
+        var ndjson = valid + "\n"
+                + "{\"label\": \"broken\"\n"
+                + invalid + "\n"
+                + "\n"
+                + valid + "\n";
+
+        var body = this.mockMvc.perform(post("/places/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        var results = new ArrayList<JsonNode>();
+        for (String line : body.lines().toList()) {
+            results.add(this.objectMapper.readTree(line));
+        }
+
+        var summary = results.getLast();
+        assertThat(summary.get("accepted").asLong()).isEqualTo(2);
+        assertThat(summary.get("rejected").asLong()).isEqualTo(2);
+
+        var statusByLine = new HashMap<Long, String>();
+        results.subList(0, results.size() - 1)
+                .forEach(node -> statusByLine.put(node.get("line").asLong(), node.get("status").asText()));
+        assertThat(statusByLine).containsEntry(1L, "accepted")
+                .containsEntry(2L, "rejected")
+                .containsEntry(3L, "rejected")
+                .containsEntry(5L, "accepted")
+                .doesNotContainKey(4L);
+    }
+
+    @Test
+    @DisplayName("Test importPlaces endpoint - an oversized line is rejected and the import goes on")
+    void importPlacesRejectsOversizedLine() throws Exception {
+        var valid = this.objectMapper.readTree(readJsonFile("places.json")).get(0);
+        var ndjson = "{\"label\": \"" + "x".repeat(70_000) + "\"}\n"
+                + valid + "\n";
+
+        var body = this.mockMvc.perform(post("/places/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        var results = new ArrayList<JsonNode>();
+        for (String line : body.lines().toList()) {
+            results.add(this.objectMapper.readTree(line));
+        }
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).get("line").asLong()).isEqualTo(1);
+        assertThat(results.get(0).get("status").asText()).isEqualTo("rejected");
+        assertThat(results.get(0).get("errors").get(0).asText()).isEqualTo("Line exceeds 65536 characters");
+        assertThat(results.get(1).get("line").asLong()).isEqualTo(2);
+        assertThat(results.get(1).get("status").asText()).isEqualTo("accepted");
+        assertThat(results.get(2).get("accepted").asLong()).isEqualTo(1);
+        assertThat(results.get(2).get("rejected").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test minute-of-day storage keeps the HH:mm contract, including the 00:00 end")
+    void minuteOfDayRoundTrip() throws Exception {
+        this.mockMvc.perform(get("/places/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openingHours.days.tuesday[*].start", hasItem("11:30")))
+                .andExpect(jsonPath("$.openingHours.days.tuesday[*].end", hasItem("00:00")));
+
+        this.mockMvc.perform(get("/places/1/opening-hours/grouped"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openingHours[*].intervals[*]", hasItem("18:30 - 00:00")));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test conditional GET - matching If-None-Match answers 304 without a body")
+    @CsvSource({
+            "/places/1",
+            "/places/1/opening-hours/grouped"
+    })
+    void conditionalGetNotModified(String path) throws Exception {
+        var eTag = this.mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        this.mockMvc.perform(get(path).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        this.mockMvc.perform(get(path).header("If-None-Match", "\"1-unknown\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Test conditional GET - updatePlace bumps the version and the ETag")
+    void conditionalGetAfterUpdate() throws Exception {
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(readJsonFile("places.json")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var createdId = this.objectMapper.readTree(postResult).get(0).get("id").asLong();
+
+        var eTag = this.mockMvc.perform(get("/places/{id}", createdId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        assertThat(eTag).isEqualTo("\"" + createdId + "-0\"");
+        this.mockMvc.perform(get("/places/{id}/opening-hours/grouped", createdId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", eTag));
+
+        var updateNode = (ObjectNode) this.objectMapper.readTree(readJsonFile("place_update.json"));
+        updateNode.put("id", createdId);
+        this.mockMvc.perform(put("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(updateNode)))
+                .andExpect(status().isOk());
+
+        this.mockMvc.perform(get("/places/{id}", createdId).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + createdId + "-1\""))
+                .andExpect(jsonPath("$.label").value(updateNode.get("label").asText()));
+        this.mockMvc.perform(get("/places/{id}/opening-hours/grouped", createdId).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + createdId + "-1\""))
+                .andExpect(jsonPath("$.label").value(updateNode.get("label").asText()));
+        this.mockMvc.perform(get("/places/{id}/opening-hours/grouped", createdId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + createdId + "-1\""))
+                .andExpect(jsonPath("$.label").value(updateNode.get("label").asText()));
+    }
+
+    @Test
+    @DisplayName("Test conditional GET - unknown place is still not found")
+    void conditionalGetNotFound() throws Exception {
+        this.mockMvc.perform(get("/places/999999").header("If-None-Match", "\"999999-0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Test batch groupedOpeningHours endpoint - unknown ids are marked, not fatal")
+    void groupedOpeningHoursBatch() throws Exception {
+        var single = this.mockMvc.perform(get("/places/1/opening-hours/grouped"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var batch = this.mockMvc.perform(get("/places/opening-hours/grouped").param("ids", "1,999999,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$['1'].status").value("found"))
+                .andExpect(jsonPath("$['999999'].status").value("not_found"))
+                .andExpect(jsonPath("$['999999'].place").doesNotExist())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(this.objectMapper.readTree(batch).get("1").get("place"))
+                .isEqualTo(this.objectMapper.readTree(single));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test batch groupedOpeningHours endpoint - bad request for missing or invalid ids")
+    @CsvSource({
+            "''",
+            "abc",
+            "'1,,2'"
+    })
+    void groupedOpeningHoursBatchBadRequest(String ids) throws Exception {
+        this.mockMvc.perform(get("/places/opening-hours/grouped").param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test search endpoint - accent-folded prefix search follows created and deleted places")
+    void search() throws Exception {
+        this.mockMvc.perform(get("/places/search").param("q", "Marche SIO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.places[*].id", hasItem(1)))
+                .andExpect(jsonPath("$.places[0].label").value("Le Café du Marché"));
+
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(readJsonFile("places.json")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var createdId = this.objectMapper.readTree(postResult).get(0).get("id").asInt();
+
+        this.mockMvc.perform(get("/places/search").param("q", "meazza itali").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.places[*].id", hasItem(createdId)));
+
+        this.mockMvc.perform(delete("/places/{id}", createdId))
+                .andExpect(status().isOk());
+
+        this.mockMvc.perform(get("/places/search").param("q", "meazza itali").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.places[*].id", not(hasItem(createdId))));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test search endpoint - bad request for a blank query or invalid limit")
+    @CsvSource({
+            "' ',10",
+            "sion,0",
+            "sion,101"
+    })
+    void searchBadRequest(String query, String limit) throws Exception {
+        this.mockMvc.perform(get("/places/search")
+                        .param("q", query)
+                        .param("limit", limit))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test JSON responses are compact by default")
+    void compactJson() throws Exception {
+        var body = this.mockMvc.perform(get("/places/1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(body).doesNotContain("\n").contains("\"id\":1,");
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test listAll and findById - CBOR and Smile carry the same content as JSON")
+    @CsvSource({
+            "/places,application/cbor",
+            "/places,application/x-jackson-smile",
+            "/places/1,application/cbor",
+            "/places/1,application/x-jackson-smile"
+    })
+    void binaryResponses(String path, String mediaType) throws Exception {
+        var json = this.mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var binary = this.mockMvc.perform(get(path).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertThat(binaryMapper(mediaType).readTree(binary)).isEqualTo(this.objectMapper.readTree(json));
+        assertThat(binary.length).isLessThan(json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test savePlaces - accepts CBOR and Smile request bodies")
+    @CsvSource({
+            "application/cbor",
+            "application/x-jackson-smile"
+    })
+    void binaryRequests(String mediaType) throws Exception {
+        var mapper = binaryMapper(mediaType);
+        var body = mapper.writeValueAsBytes(this.objectMapper.readTree(readJsonFile("places.json")));
+
+        var response = this.mockMvc.perform(post("/places")
+                        .contentType(mediaType)
+                        .accept(mediaType)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        var created = mapper.readTree(response).get(0);
+        assertThat(created.get("label").asText()).isEqualTo("Stadio Giuseppe Meazza");
+
+        this.mockMvc.perform(delete("/places/{id}", created.get("id").asLong()))
+                .andExpect(status().isOk());
+    }
+
+    private static ObjectMapper binaryMapper(String mediaType) {
+        return mediaType.equals(MediaType.APPLICATION_CBOR_VALUE) ? new CBORMapper() : new SmileMapper();
+    }
+
+    @Test
+    @DisplayName("Test patchOpeningHours - replaces the listed days, keeps the others and closes days with an empty list")
+    void patchOpeningHours() throws Exception {
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(readJsonFile("places.json")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var createdId = this.objectMapper.readTree(postResult).get(0).get("id").asLong();
+
+        this.mockMvc.perform(patch("/places/{id}/opening-hours", createdId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"days": {
+                                  "saturday": [{"start": "10:00", "end": "14:00", "type": "OPEN"},
+                                               {"start": "17:00", "end": "00:00", "type": "OPEN"}],
+                                  "sunday": []
+                                }}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openingHours.days.saturday[*].start").value(contains("10:00", "17:00")))
+                .andExpect(jsonPath("$.openingHours.days.saturday[1].end").value("00:00"))
+                .andExpect(jsonPath("$.openingHours.days.wednesday.length()").value(2))
+                .andExpect(jsonPath("$.openingHours.days.sunday").doesNotExist());
+
+        this.mockMvc.perform(get("/places/{id}", createdId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + createdId + "-1\""))
+                .andExpect(jsonPath("$.openingHours.days.saturday.length()").value(2))
+                .andExpect(jsonPath("$.openingHours.days.thursday.length()").value(2));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test patchOpeningHours - bad request for overlapping intervals, unknown days or an empty patch")
+    @CsvSource(delimiter = '|', value = {
+            "{\"days\": {\"saturday\": [{\"start\": \"10:00\", \"end\": \"14:00\", \"type\": \"OPEN\"}, {\"start\": \"13:00\", \"end\": \"15:00\", \"type\": \"OPEN\"}]}}",
+            "{\"days\": {\"someday\": []}}",
+            "{\"days\": {}}",
+            "{\"days\": {\"monday\": [{\"start\": \"14:00\", \"end\": \"10:00\", \"type\": \"OPEN\"}]}}"
+    })
+    void patchOpeningHoursBadRequest(String body) throws Exception {
+        this.mockMvc.perform(patch("/places/1/opening-hours")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test patchOpeningHours - not found")
+    void patchOpeningHoursNotFound() throws Exception {
+        this.mockMvc.perform(patch("/places/999999/opening-hours")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"days\": {\"sunday\": []}}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Test updatePlace with If-Match - applies to the current ETag, answers 412 for a stale one")
+    void updatePlaceIfMatch() throws Exception {
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(readJsonFile("places.json")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var createdId = this.objectMapper.readTree(postResult).get(0).get("id").asLong();
+        var updateNode = (ObjectNode) this.objectMapper.readTree(readJsonFile("place_update.json"));
+        updateNode.put("id", createdId);
+        var update = this.objectMapper.writeValueAsString(updateNode);
+
+        this.mockMvc.perform(put("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "\"" + createdId + "-0\"")
+                        .content(update))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + createdId + "-1\""))
+                .andExpect(header().exists("Last-Modified"));
+
+        this.mockMvc.perform(put("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "\"" + createdId + "-0\"")
+                        .content(update))
+                .andExpect(status().isPreconditionFailed());
+        this.mockMvc.perform(patch("/places/{id}/opening-hours", createdId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "\"" + createdId + "-0\"")
+                        .content("{\"days\": {\"sunday\": []}}"))
+                .andExpect(status().isPreconditionFailed());
+
+        this.mockMvc.perform(put("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "*")
+                        .content(update))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + createdId + "-2\""));
+        this.mockMvc.perform(get("/places/{id}", createdId))
+                .andExpect(header().string("ETag", "\"" + createdId + "-2\""));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test updatePlace with If-Match - weak, foreign or malformed ETags never match")
+    @CsvSource(delimiter = '|', value = {
+            "W/\"1-0\"",
+            "\"2-0\"",
+            "\"1-\"",
+            "\"1-x\"",
+            "1-0"
+    })
+    void updatePlaceIfMatchMismatch(String ifMatch) throws Exception {
+        var updateNode = (ObjectNode) this.objectMapper.readTree(readJsonFile("place_update.json"));
+        updateNode.put("id", 1);
+
+        this.mockMvc.perform(put("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", ifMatch)
+                        .content(this.objectMapper.writeValueAsString(updateNode)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Test openAt endpoint - an update that fails to commit leaves the index unchanged")
+    void openAtIgnoresRolledBackUpdates() throws Exception {
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(readJsonFile("places.json")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var createdId = this.objectMapper.readTree(postResult).get(0).get("id").asInt();
+
+        var updateNode = (ObjectNode) this.objectMapper.readTree(readJsonFile("place_update.json"));
+        updateNode.put("id", createdId);
+        ((ObjectNode) updateNode.get("openingHours").get("days"))
+                .set("monday", this.objectMapper.readTree("[{\"start\": \"08:00\", \"end\": \"12:00\", \"type\": \""
+                        + "X".repeat(300) + "\"}]"));
+        assertThatThrownBy(() -> this.mockMvc.perform(put("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(updateNode))))
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+
+        this.mockMvc.perform(get("/places/open-at")
+                        .param("day", "monday")
+                        .param("time", "09:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(createdId))));
+    }
+}
@@ -0,0 +1,75 @@
+package com.demo.aerztekasse;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs on its own database because deleting by last-modified cut-off removes the seeded places.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK,
+        classes = AerztekasseApplication.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:bulkdelete;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureMockMvc
+class PlaceBulkDeleteTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("modifiedBefore deletes older places and drops them from the indexes, newer places stay")
+    void deleteModifiedBefore() throws Exception {
+        var cutoff = Instant.now();
+        Thread.sleep(10);
+        var places = StreamUtils.copyToString(new ClassPathResource("places.json").getInputStream(), StandardCharsets.UTF_8);
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(places))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var createdId = this.objectMapper.readTree(postResult).get(0).get("id").asLong();
+
+        this.mockMvc.perform(post("/places/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(Map.of("modifiedBefore", cutoff.toString()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andExpect(jsonPath("$.ids").value(contains(1, 2)))
+                .andExpect(jsonPath("$.notFound.length()").value(0));
+
+        this.mockMvc.perform(get("/places/1"))
+                .andExpect(status().isNotFound());
+        this.mockMvc.perform(get("/places/open-at").param("day", "tuesday").param("time", "19:15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(1))));
+        this.mockMvc.perform(get("/places/search").param("q", "sion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.places.length()").value(0));
+        this.mockMvc.perform(get("/places/{id}", createdId))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,67 @@
+package com.demo.aerztekasse;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK,
+        classes = AerztekasseApplication.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class PlaceMetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("request, service, repository, grouping and payload meters are scraped in Prometheus format")
+    void prometheusScrape() throws Exception {
+        var places = StreamUtils.copyToString(new ClassPathResource("places.json").getInputStream(), StandardCharsets.UTF_8);
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(places))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var createdId = this.objectMapper.readTree(postResult).get(0).get("id").asLong();
+        this.mockMvc.perform(get("/places/{id}/opening-hours/grouped", createdId))
+                .andExpect(status().isOk());
+
+        var scrape = this.mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/places/{id}/opening-hours/grouped\"")
+                .contains("places_service_seconds_bucket{")
+                .contains("method=\"getGroupedOpeningHoursByPlaceId\"")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .contains("places_grouping_seconds_bucket{")
+                .contains("places_payload_places_bucket{")
+                .contains("places_payload_intervals_bucket{");
+    }
+}
@@ -0,0 +1,284 @@
+package com.demo.aerztekasse;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.StreamUtils;
+
+import com.demo.aerztekasse.config.Config;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK,
+        classes = AerztekasseApplication.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:querycount;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.properties.hibernate.generate_statistics=true"
+        })
+@AutoConfigureMockMvc
+class PlaceQueryCountTests {
+
+    private static final String SATURDAY_PATCH = """
+            {"days": {"saturday": [{"start": "17:00", "end": "23:00", "type": "OPEN"}]}}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.cacheManager.getCache(Config.GROUPED_OPENING_HOURS_CACHE).clear();
+        this.statistics.clear();
+    }
+
+    @Test
+    @DisplayName("listAll loads places and days in a single statement")
+    void listAll() throws Exception {
+        this.mockMvc.perform(get("/places"))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("listPage loads the id page and then its places with days")
+    void listPage() throws Exception {
+        this.mockMvc.perform(get("/places").param("limit", "10"))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("findById loads the place with its days and version in a single statement")
+    void findById() throws Exception {
+        this.mockMvc.perform(get("/places/1"))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("grouped opening hours load the place with its days and version in a single statement")
+    void groupedOpeningHours() throws Exception {
+        this.mockMvc.perform(get("/places/1/opening-hours/grouped"))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @DisplayName("a matching If-None-Match reads only the version columns")
+    @ValueSource(strings = { "/places/1", "/places/1/opening-hours/grouped" })
+    void notModified(String path) throws Exception {
+        var eTag = this.mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        this.cacheManager.getCache(Config.GROUPED_OPENING_HOURS_CACHE).clear();
+        this.statistics.clear();
+
+        this.mockMvc.perform(get(path).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(this.statistics.getEntityLoadCount()).isZero();
+        assertThat(this.statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("openAt loads the matching places and their days in a single statement")
+    void openAt() throws Exception {
+        this.mockMvc.perform(get("/places/open-at")
+                        .param("day", "tuesday")
+                        .param("time", "19:15"))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("openBetween resolves the ids on DAY_OPENING and then loads the places with their days")
+    void openBetween() throws Exception {
+        this.mockMvc.perform(get("/places/open-between")
+                        .param("day", "friday")
+                        .param("from", "19:00")
+                        .param("to", "22:00"))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("streamAll issues two statements per page")
+    void streamAll() throws Exception {
+        var result = this.mockMvc.perform(get("/places/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("batch grouped opening hours load all uncached places in a single statement")
+    void groupedOpeningHoursBatch() throws Exception {
+        this.mockMvc.perform(get("/places/opening-hours/grouped").param("ids", "1,2,999999"))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        this.mockMvc.perform(get("/places/{id}/opening-hours/grouped", 1))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/places/{id}/opening-hours/grouped", 2))
+                .andExpect(status().isOk());
+        this.statistics.clear();
+        this.mockMvc.perform(get("/places/opening-hours/grouped").param("ids", "1,2"))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("search is answered from the in-memory index without any statement")
+    void search() throws Exception {
+        this.mockMvc.perform(get("/places/search").param("q", "sion"))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("PATCH rewrites only the changed interval and skips unchanged days entirely")
+    void patchOpeningHours() throws Exception {
+        var id = createPlace();
+
+        this.mockMvc.perform(patch("/places/{id}/opening-hours", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(SATURDAY_PATCH))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(this.statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(this.statistics.getEntityInsertCount()).isZero();
+        assertThat(this.statistics.getEntityDeleteCount()).isZero();
+
+        this.statistics.clear();
+        this.mockMvc.perform(patch("/places/{id}/opening-hours", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(SATURDAY_PATCH))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(this.statistics.getEntityUpdateCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("PATCH inserts and deletes only the surplus intervals")
+    void patchOpeningHoursInsertAndDelete() throws Exception {
+        var id = createPlace();
+
+        this.mockMvc.perform(patch("/places/{id}/opening-hours", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"days": {"sunday": [], "monday": [{"start": "08:00", "end": "12:00", "type": "OPEN"}]}}"""))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(this.statistics.getEntityDeleteCount()).isEqualTo(1);
+        assertThat(this.statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("PUT with one changed interval updates that row and the place instead of re-inserting all days")
+    void updatePlaceDiff() throws Exception {
+        var id = createPlace();
+        var update = (ObjectNode) this.objectMapper.readTree(readResource("place_update.json"));
+        update.put("id", id);
+        ((ObjectNode) update.get("openingHours").get("days"))
+                .set("saturday", this.objectMapper.readTree("[{\"start\": \"17:00\", \"end\": \"23:00\", \"type\": \"OPEN\"}]"));
+
+        this.mockMvc.perform(put("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(this.statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(this.statistics.getEntityInsertCount()).isZero();
+        assertThat(this.statistics.getEntityDeleteCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("bulk delete finds the ids and deletes days and places with one statement each, without loading entities")
+    void bulkDelete() throws Exception {
+        var ids = List.of(createPlace(), createPlace(), createPlace());
+        this.statistics.clear();
+
+        this.mockMvc.perform(post("/places/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(Map.of("ids", ids))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(3));
+
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(this.statistics.getEntityLoadCount()).isZero();
+        assertThat(this.statistics.getCollectionFetchCount()).isZero();
+    }
+
+    /**
+     * Creates a place from places.json and resets the statistics afterwards.
+     */
+    private long createPlace() throws Exception {
+        var response = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(readResource("places.json")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        this.statistics.clear();
+        return this.objectMapper.readTree(response).get(0).get("id").asLong();
+    }
+
+    private static String readResource(String name) throws IOException {
+        return StreamUtils.copyToString(new ClassPathResource(name).getInputStream(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,181 @@
+package com.demo.aerztekasse;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.StreamUtils;
+
+import com.demo.aerztekasse.config.Config;
+import com.demo.aerztekasse.index.WriteWatermark;
+import com.demo.aerztekasse.readmodel.PlaceReadModel;
+import com.demo.aerztekasse.records.GroupedPlaceRecord;
+import com.demo.aerztekasse.records.OpenIntervalRecord;
+import com.demo.aerztekasse.records.OpeningHoursRecord;
+import com.demo.aerztekasse.records.PlaceRecord;
+import com.demo.aerztekasse.records.PlaceVersionRecord;
+import com.demo.aerztekasse.records.PlaceViewRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK,
+        classes = AerztekasseApplication.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:readmodel;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "aerztekasse.read-model.enabled=true"
+        })
+@AutoConfigureMockMvc
+class PlaceReadModelTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlaceReadModel readModel;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        assertThat(this.readModel.isReady()).isTrue();
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.cacheManager.getCache(Config.GROUPED_OPENING_HOURS_CACHE).clear();
+        this.statistics.clear();
+    }
+
+    @ParameterizedTest
+    @DisplayName("GET endpoints are served from the read model without any statement")
+    @ValueSource(strings = {
+            "/places",
+            "/places?limit=1",
+            "/places/1",
+            "/places/1/opening-hours/grouped",
+            "/places/opening-hours/grouped?ids=1,2,999999",
+            "/places/open-at?day=tuesday&time=19:15"
+    })
+    void readsSkipJpa(String path) throws Exception {
+        this.mockMvc.perform(get(path))
+                .andExpect(status().isOk());
+
+        assertThat(this.statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("created, updated and deleted places are visible in the read model after commit")
+    void followsWrites() throws Exception {
+        var places = StreamUtils.copyToString(new ClassPathResource("places.json").getInputStream(), StandardCharsets.UTF_8);
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(places))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        var createdId = this.objectMapper.readTree(postResult).get(0).get("id").asLong();
+
+        this.mockMvc.perform(get("/places/{id}", createdId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + createdId + "-0\""))
+                .andExpect(jsonPath("$.label").value("Stadio Giuseppe Meazza"));
+
+        var updateNode = (ObjectNode) this.objectMapper.readTree(
+                StreamUtils.copyToString(new ClassPathResource("place_update.json").getInputStream(), StandardCharsets.UTF_8));
+        updateNode.put("id", createdId);
+        updateNode.put("label", "Updated label");
+        this.mockMvc.perform(put("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(updateNode)))
+                .andExpect(status().isOk());
+
+        this.statistics.clear();
+        this.mockMvc.perform(get("/places/{id}", createdId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + createdId + "-1\""))
+                .andExpect(jsonPath("$.label").value("Updated label"));
+        this.mockMvc.perform(get("/places/{id}/opening-hours/grouped", createdId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.label").value("Updated label"));
+        assertThat(this.statistics.getPrepareStatementCount()).isZero();
+
+        this.mockMvc.perform(delete("/places/{id}", createdId))
+                .andExpect(status().isOk());
+
+        this.mockMvc.perform(get("/places/{id}", createdId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("a removed place is not brought back by a stale load page or a late update")
+    void tombstones() {
+        var watermark = new WriteWatermark();
+        var model = new PlaceReadModel(true, watermark);
+        model.put(view(42L, 1));
+        model.put(view(42L, 0));
+        assertThat(model.get(42L)).map(view -> view.version().version()).contains(1L);
+
+        watermark.track(() -> {
+            watermark.track(() -> model.remove(42L));
+            model.put(view(42L, 1));
+            model.put(view(42L, 2));
+        });
+
+        assertThat(model.get(42L)).isEmpty();
+        assertThat(model.all()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("views hand out opening hours that cannot be modified")
+    void immutableOpeningHours() {
+        var days = new HashMap<String, List<OpenIntervalRecord>>();
+        days.put("monday", new ArrayList<>(List.of(new OpenIntervalRecord("08:00", "12:00", "OPEN"))));
+        var record = new PlaceRecord(1L, "Label", "Location", new OpeningHoursRecord(days));
+        days.get("monday").clear();
+        days.clear();
+
+        var copied = record.openingHours().days();
+        assertThat(copied.get("monday")).hasSize(1);
+        assertThatThrownBy(() -> copied.put("tuesday", List.of())).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> copied.get("monday").clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static PlaceViewRecord view(Long id, long version) {
+        var place = new PlaceRecord(id, "Label " + version, "Location", new OpeningHoursRecord(Map.of()));
+        var grouped = new GroupedPlaceRecord(id, place.label(), place.location(), List.of());
+        return new PlaceViewRecord(place, grouped, new PlaceVersionRecord(id, version, Instant.EPOCH));
+    }
+}
@@ -0,0 +1,151 @@
+package com.demo.aerztekasse.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.demo.aerztekasse.service.PlaceService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load scenario against the PlaceController read endpoints: a fixed number of concurrent
+ * clients, well above the default 200 Tomcat request threads, issue requests back to back
+ * for a fixed duration. Logs throughput and latency percentiles so the platform and
+ * virtual thread modes can be compared. Run with {@code ./gradlew benchmark}.
+ * <p>
+ * Subclasses run both modes with the connection pool of the virtual-threads profile and
+ * with the grouped cache switched off (a Caffeine maximum size of 0), and every request picks
+ * a random place out of {@link #PLACES} imported up front, so the requests reach the database
+ * instead of repeating a few cached answers.
+ */
+@Tag("benchmark")
+abstract class PlaceControllerLoadBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceControllerLoadBenchmark.class);
+
+    private static final int PLACES = 10_000;
+    private static final int CLIENTS = 1_000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(20);
+    private static final int BATCH_IDS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PlaceService placeService;
+
+    private long[] ids;
+
+    protected abstract String mode();
+
+    @Test
+    void readEndpoints() throws Exception {
+        var places = ScheduleGenerator.places(PLACES, 14, ScheduleGenerator.Pattern.SPLIT, 42);
+        this.ids = this.placeService.bulkSave(places).ids().stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            run(client, executor, WARMUP);
+            var result = run(client, executor, DURATION);
+
+            assertThat(result.errors()).isZero();
+            log.info(String.format("[%s] %d clients, %d requests in %ds -> %.0f req/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                    mode(), CLIENTS, result.latencies().length, DURATION.toSeconds(),
+                    result.latencies().length / (double) DURATION.toSeconds(),
+                    percentile(result.latencies(), 0.50), percentile(result.latencies(), 0.99),
+                    percentile(result.latencies(), 1.0)));
+        }
+    }
+
+    private Result run(HttpClient client, ExecutorService executor, Duration duration) throws Exception {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var errors = new AtomicLong();
+        var futures = new ArrayList<Future<long[]>>(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            var offset = c;
+            futures.add(executor.submit(() -> {
+                var latencies = new long[1024];
+                var n = 0;
+                for (int i = offset; System.nanoTime() < deadline; i++) {
+                    var request = HttpRequest.newBuilder(URI.create("http://localhost:" + this.port + path(i)))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                    var start = System.nanoTime();
+                    var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    var latency = System.nanoTime() - start;
+                    if (response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    }
+                    if (n == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, n * 2);
+                    }
+                    latencies[n++] = latency;
+                }
+                return Arrays.copyOf(latencies, n);
+            }));
+        }
+
+        var all = new ArrayList<long[]>(CLIENTS);
+        for (Future<long[]> future : futures) {
+            all.add(future.get());
+        }
+        var merged = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(merged, errors.get());
+    }
+
+    /**
+     * Rotates through the endpoints, each time for random places.
+     */
+    private String path(int request) {
+        return switch (request % 4) {
+            case 0 -> "/places/" + randomId();
+            case 1 -> "/places/" + randomId() + "/opening-hours/grouped";
+            case 2 -> "/places?afterId=" + randomId() + "&limit=50";
+            default -> "/places/opening-hours/grouped?ids=" + LongStream.generate(this::randomId)
+                    .limit(BATCH_IDS)
+                    .mapToObj(String::valueOf)
+                    .collect(Collectors.joining(","));
+        };
+    }
+
+    private long randomId() {
+        return this.ids[ThreadLocalRandom.current().nextInt(this.ids.length)];
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        var index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.demo.aerztekasse.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.demo.aerztekasse.AerztekasseApplication;
+
+@ActiveProfiles("virtual-threads")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+        classes = AerztekasseApplication.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:virtualload;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.show-sql=false",
+                "spring.datasource.hikari.maximum-pool-size=16",
+                "spring.datasource.hikari.minimum-idle=16",
+                "spring.datasource.hikari.connection-timeout=5000",
+                "spring.cache.caffeine.spec=maximumSize=0"
+        })
+class VirtualThreadLoadBenchmarkTests extends PlaceControllerLoadBenchmark {
+
+    @Override
+    protected String mode() {
+        return "virtual threads";
+    }
+}
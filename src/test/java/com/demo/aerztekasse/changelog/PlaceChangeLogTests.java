@@ -0,0 +1,218 @@
+package com.demo.aerztekasse.changelog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.demo.aerztekasse.AerztekasseApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK,
+        classes = AerztekasseApplication.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:changelog;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "aerztekasse.change-log.enabled=true",
+                "aerztekasse.change-log.compact-interval=1h"
+        })
+@AutoConfigureMockMvc
+class PlaceChangeLogTests {
+
+    private static final String PLACES = "SELECT ID || '|' || LABEL || '|' || LOCATION || '|' || VERSION FROM PLACE ORDER BY ID";
+    private static final String OPENINGS = """
+            SELECT PLACE_ID || '|' || DAY_OF_WEEK || '|' || START_MINUTE || '|' || END_MINUTE || '|' || OPENING_TYPE
+            FROM DAY_OPENING ORDER BY PLACE_ID, DAY_OF_WEEK, START_MINUTE""";
+
+    @TempDir
+    private static Path directory;
+
+    @TempDir
+    private Path replayDirectory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlaceChangeLog changeLog;
+
+    @DynamicPropertySource
+    static void changeLogDirectory(DynamicPropertyRegistry registry) {
+        registry.add("aerztekasse.change-log.directory", () -> directory.toString());
+    }
+
+    @Test
+    @DisplayName("replaying the log on top of data.sql restores every acknowledged write, also after compaction")
+    void replay() throws Exception {
+        var createdId = create();
+        update(createdId, "First update");
+        update(createdId, "Second update");
+        update(1L, "Updated seed place");
+        this.mockMvc.perform(delete("/places/2"))
+                .andExpect(status().isOk());
+
+        var places = this.jdbcTemplate.queryForList(PLACES, String.class);
+        var openings = this.jdbcTemplate.queryForList(OPENINGS, String.class);
+
+        assertReplayed(places, openings);
+
+        this.changeLog.compact();
+
+        assertThat(segments(directory)).hasSize(2);
+        assertThat(Files.size(segments(directory).getLast())).isZero();
+        assertReplayed(places, openings);
+    }
+
+    @Test
+    @DisplayName("a torn write at the end of the log is cut off and the intact entries are replayed")
+    void tornWrite() throws Exception {
+        update(1L, "Before the crash");
+        var places = this.jdbcTemplate.queryForList(PLACES, String.class);
+        var openings = this.jdbcTemplate.queryForList(OPENINGS, String.class);
+
+        copyLog();
+        var last = segments(this.replayDirectory).getLast();
+        var size = Files.size(last);
+        Files.write(last, new byte[] { 0, 0, 1, 0, 42, 42 }, StandardOpenOption.APPEND);
+
+        assertThat(restart()).isEqualTo(List.of(places, openings));
+        assertThat(Files.size(last)).isEqualTo(size);
+    }
+
+    @Test
+    @DisplayName("replay does not reissue the ids of deleted places, also after compaction")
+    void deletedIdsAreNotReissued() throws Exception {
+        var place = this.objectMapper.readTree(new ClassPathResource("places.json").getInputStream()).get(0);
+        var places = this.objectMapper.createArrayNode();
+        for (int i = 0; i < 60; i++) {
+            places.add(place);
+        }
+        var created = this.objectMapper.readTree(this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(places.toString()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+        var ids = new ArrayList<Long>();
+        created.forEach(node -> ids.add(node.get("id").asLong()));
+        this.mockMvc.perform(post("/places/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(Map.of("ids", ids))))
+                .andExpect(status().isOk());
+        long highest = Collections.max(ids);
+
+        copyLog();
+        assertThat(restart(PlaceChangeLogTests::nextPlaceId)).isGreaterThan(highest);
+
+        this.changeLog.compact();
+        copyLog();
+        assertThat(restart(PlaceChangeLogTests::nextPlaceId)).isGreaterThan(highest);
+    }
+
+    private static long nextPlaceId(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR PLACE_SEQ", Long.class);
+    }
+
+    private void assertReplayed(List<String> places, List<String> openings) throws Exception {
+        copyLog();
+        assertThat(restart()).isEqualTo(List.of(places, openings));
+    }
+
+    /**
+     * Starts a second change log on a copy of the segments against a fresh database initialized
+     * like at startup, as a restarted application would.
+     */
+    private List<List<String>> restart() throws Exception {
+        return restart(jdbcTemplate -> List.of(jdbcTemplate.queryForList(PLACES, String.class),
+                jdbcTemplate.queryForList(OPENINGS, String.class)));
+    }
+
+    private <T> T restart(Function<JdbcTemplate, T> inspect) throws Exception {
+        var name = "changelog" + System.nanoTime();
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(dataSource);
+        var replayed = new PlaceChangeLog(dataSource, true, this.replayDirectory, DataSize.ofMegabytes(64), Duration.ofHours(1));
+        replayed.run(null);
+        replayed.stop();
+
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        var result = inspect.apply(jdbcTemplate);
+        jdbcTemplate.execute("SHUTDOWN");
+        return result;
+    }
+
+    private void copyLog() throws IOException {
+        FileSystemUtils.deleteRecursively(this.replayDirectory);
+        FileSystemUtils.copyRecursively(directory, this.replayDirectory);
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private Long create() throws Exception {
+        var places = StreamUtils.copyToString(new ClassPathResource("places.json").getInputStream(), StandardCharsets.UTF_8);
+        var postResult = this.mockMvc.perform(post("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(places))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return this.objectMapper.readTree(postResult).get(0).get("id").asLong();
+    }
+
+    private void update(Long id, String label) throws Exception {
+        var updateNode = (ObjectNode) this.objectMapper.readTree(
+                StreamUtils.copyToString(new ClassPathResource("place_update.json").getInputStream(), StandardCharsets.UTF_8));
+        updateNode.put("id", id);
+        updateNode.put("label", label);
+        this.mockMvc.perform(put("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(updateNode)))
+                .andExpect(status().isOk());
+    }
+}
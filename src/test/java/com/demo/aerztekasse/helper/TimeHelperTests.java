@@ -0,0 +1,37 @@
+package com.demo.aerztekasse.helper;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeHelperTests {
+
+    @Test
+    @DisplayName("the lookup table resolves every HH:mm time like the formatter")
+    void lookupMatchesFormatter() {
+        var formatter = DateTimeFormatter.ofPattern("HH:mm");
+        for (int minute = 0; minute < TimeHelper.MINUTES_PER_DAY; minute++) {
+            var time = LocalTime.of(minute / 60, minute % 60).format(formatter);
+
+            assertThat(TimeHelper.isTime(time)).isTrue();
+            assertThat(TimeHelper.toMinuteOfDay(time)).isEqualTo(TimeHelper.toMinuteOfDay(LocalTime.parse(time, formatter)));
+        }
+        assertThat(TimeHelper.toEndMinuteOfDay("00:00")).isEqualTo(TimeHelper.MINUTES_PER_DAY);
+    }
+
+    @ParameterizedTest
+    @DisplayName("malformed times are still rejected by the formatter")
+    @ValueSource(strings = { "9:00", "09:60", "25:00", "0900", "ab:cd" })
+    void malformedTimes(String time) {
+        assertThat(TimeHelper.isTime(time)).isFalse();
+        assertThatThrownBy(() -> TimeHelper.toMinuteOfDay(time)).isInstanceOf(DateTimeParseException.class);
+    }
+}
@@ -0,0 +1,95 @@
+package com.demo.aerztekasse.index;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.demo.aerztekasse.entity.DayOpening;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactScheduleTests {
+
+    @Test
+    @DisplayName("round-trips day, minutes and type, ordered by day and start")
+    void roundTrip() {
+        var schedule = CompactSchedule.of(List.of(
+                opening(DayOfWeek.SUNDAY, 690, 900, "OPEN"),
+                opening(DayOfWeek.TUESDAY, 1110, 1440, "OPEN"),
+                opening(DayOfWeek.TUESDAY, 690, 900, null)));
+
+        assertThat(schedule.size()).isEqualTo(3);
+        assertThat(schedule.dayOfWeek(0)).isEqualTo(DayOfWeek.TUESDAY);
+        assertThat(schedule.startMinute(0)).isEqualTo(690);
+        assertThat(schedule.endMinute(0)).isEqualTo(900);
+        assertThat(schedule.type(0)).isNull();
+        assertThat(schedule.dayOfWeek(1)).isEqualTo(DayOfWeek.TUESDAY);
+        assertThat(schedule.endMinute(1)).isEqualTo(1440);
+        assertThat(schedule.type(1)).isEqualTo("OPEN");
+        assertThat(schedule.dayOfWeek(2)).isEqualTo(DayOfWeek.SUNDAY);
+        assertThat(schedule.startMinuteOfWeek(2)).isEqualTo(6 * 1440 + 690);
+        assertThat(schedule.endMinuteOfWeek(1)).isEqualTo(2 * 1440);
+    }
+
+    @Test
+    @DisplayName("equal schedules compare equal regardless of input order")
+    void equality() {
+        var first = CompactSchedule.of(List.of(
+                opening(DayOfWeek.MONDAY, 0, 60, "OPEN"),
+                opening(DayOfWeek.FRIDAY, 600, 700, "OPEN")));
+        var second = CompactSchedule.of(List.of(
+                opening(DayOfWeek.FRIDAY, 600, 700, "OPEN"),
+                opening(DayOfWeek.MONDAY, 0, 60, "OPEN")));
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+        assertThat(CompactSchedule.of(List.of())).isSameAs(CompactSchedule.EMPTY);
+    }
+
+    @Test
+    @DisplayName("keeps any number of distinct types once the shared dictionary is full")
+    void typesBeyondDictionary() {
+        var days = new ArrayList<DayOpening>();
+        for (int i = 0; i < 100; i++) {
+            days.add(opening(DayOfWeek.of(i % 7 + 1), i, i + 1, "Type " + i));
+        }
+        days.add(opening(DayOfWeek.MONDAY, 0, 1, "Type 99"));
+
+        var schedule = CompactSchedule.of(days);
+        var reversed = CompactSchedule.of(days.reversed());
+
+        var types = new HashSet<String>();
+        for (int i = 0; i < schedule.size(); i++) {
+            var day = schedule.dayOfWeek(i).getValue() - 1;
+            assertThat(schedule.startMinute(i) % 7).isEqualTo(day);
+            if (!(day == 0 && schedule.startMinute(i) == 0)) {
+                assertThat(schedule.type(i)).isEqualTo("Type " + schedule.startMinute(i));
+            }
+            types.add(schedule.type(i));
+        }
+        assertThat(types).hasSize(100);
+        assertThat(schedule).isEqualTo(reversed).hasSameHashCodeAs(reversed);
+        assertThat(CompactSchedule.of(List.of(opening(DayOfWeek.MONDAY, 0, 1, "Type 98"))))
+                .isNotEqualTo(CompactSchedule.of(List.of(opening(DayOfWeek.MONDAY, 0, 1, "Type 99"))));
+    }
+
+    @Test
+    @DisplayName("rejects minutes outside of the day")
+    void outOfRange() {
+        assertThatThrownBy(() -> CompactSchedule.pack(DayOfWeek.MONDAY, 0, 1441, "OPEN"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static DayOpening opening(DayOfWeek day, int start, int end, String type) {
+        return DayOpening.builder()
+                .dayOfWeek(day)
+                .startMinute(start)
+                .endMinute(end)
+                .type(type)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.demo.aerztekasse.index;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.demo.aerztekasse.entity.DayOpening;
+import com.demo.aerztekasse.entity.Place;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpeningHoursIndexTests {
+
+    private final WriteWatermark watermark = new WriteWatermark();
+    private final OpeningHoursIndex index = new OpeningHoursIndex(null, this.watermark);
+
+    @Test
+    @DisplayName("follows updates and removals")
+    void updateAndRemove() {
+        this.index.put(place(1L, 0, 480, 720));
+        this.index.put(place(1L, 1, 840, 1080));
+
+        assertThat(this.index.openAt(DayOfWeek.MONDAY, LocalTime.of(9, 0))).isEmpty();
+        assertThat(this.index.openAt(DayOfWeek.MONDAY, LocalTime.of(15, 0))).containsExactly(1L);
+
+        this.index.remove(1L);
+        assertThat(this.index.openAt(DayOfWeek.MONDAY, LocalTime.of(15, 0))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("ignores puts older than the indexed version and puts after a removal")
+    void outOfOrderPuts() {
+        this.index.put(place(1L, 2, 840, 1080));
+        this.index.put(place(1L, 1, 480, 720));
+
+        assertThat(this.index.openAt(DayOfWeek.MONDAY, LocalTime.of(9, 0))).isEmpty();
+        assertThat(this.index.openAt(DayOfWeek.MONDAY, LocalTime.of(15, 0))).containsExactly(1L);
+
+        this.watermark.track(() -> {
+            this.index.remove(1L);
+            this.index.put(place(1L, 3, 480, 720));
+        });
+        assertThat(this.index.openAt(DayOfWeek.MONDAY, LocalTime.of(9, 0))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("drops a tombstone once the writes running at the removal have finished")
+    void tombstoneOutlivesRunningWrites() {
+        this.index.put(place(1L, 1, 480, 720));
+        this.watermark.track(() -> {
+            this.watermark.track(() -> this.index.remove(1L));
+            this.index.put(place(1L, 1, 480, 720));
+        });
+        assertThat(this.index.openAt(DayOfWeek.MONDAY, LocalTime.of(9, 0))).isEmpty();
+
+        this.index.put(place(2L, 1, 480, 720));
+        this.index.put(place(1L, 2, 480, 720));
+        assertThat(this.index.openAt(DayOfWeek.MONDAY, LocalTime.of(9, 0))).containsExactly(1L, 2L);
+    }
+
+    private static Place place(Long id, long version, int start, int end) {
+        var place = Place.builder()
+                .id(id)
+                .version(version)
+                .days(new ArrayList<>())
+                .build();
+        place.getDays().add(DayOpening.builder()
+                .dayOfWeek(DayOfWeek.MONDAY)
+                .startMinute(start)
+                .endMinute(end)
+                .type("OPEN")
+                .place(place)
+                .build());
+        return place;
+    }
+}
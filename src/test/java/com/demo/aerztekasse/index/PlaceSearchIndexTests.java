@@ -0,0 +1,133 @@
+package com.demo.aerztekasse.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.demo.aerztekasse.entity.Place;
+import com.demo.aerztekasse.records.PlaceSearchHitRecord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaceSearchIndexTests {
+
+    private final WriteWatermark watermark = new WriteWatermark();
+    private PlaceSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.index = new PlaceSearchIndex(null, this.watermark);
+        this.index.put(new PlaceSearchHitRecord(1L, "Le Café du Marché", "Rue de Conthey 17, 1950 Sion"));
+        this.index.put(new PlaceSearchHitRecord(2L, "Casa Ferlin", "Stampfenbachstrasse 38, 8006 Zürich"));
+        this.index.put(new PlaceSearchHitRecord(3L, "Café Zähringer", "Zähringerplatz 11, 8001 Zürich"));
+    }
+
+    @ParameterizedTest
+    @DisplayName("matches every query word as an accent- and case-insensitive prefix")
+    @CsvSource(delimiter = '|', value = {
+            "sion|1",
+            "MARCHE|1",
+            "Marché Sio|1",
+            "caf|1,3",
+            "zurich|2,3",
+            "Zür caf|3",
+            "8006|2",
+            "rue, de|1"
+    })
+    void search(String query, String expectedIds) {
+        var ids = ids(this.index.search(query, null, 10).places());
+
+        assertThat(ids).containsExactly(Arrays.stream(expectedIds.split(",")).map(Long::valueOf).toArray(Long[]::new));
+    }
+
+    @ParameterizedTest
+    @DisplayName("returns nothing for unknown words, blank queries and words matching only in combination")
+    @CsvSource(delimiter = '|', value = {
+            "bern",
+            "' - '",
+            "ferlin sion",
+            "cafe x"
+    })
+    void noMatch(String query) {
+        assertThat(this.index.search(query, null, 10).places()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("pages through the matches in id order")
+    void pagination() {
+        var first = this.index.search("z", null, 1);
+        assertThat(ids(first.places())).containsExactly(2L);
+        assertThat(first.nextAfterId()).isEqualTo(2L);
+
+        var second = this.index.search("z", first.nextAfterId(), 1);
+        assertThat(ids(second.places())).containsExactly(3L);
+        assertThat(second.nextAfterId()).isNull();
+    }
+
+    @Test
+    @DisplayName("pages through a prefix spread over many tokens once per place and in id order")
+    void paginationAcrossTokens() {
+        for (long id = 10; id < 110; id++) {
+            this.index.put(new PlaceSearchHitRecord(id, id % 3 == 0 ? "Praxis" : "Arzt", id % 2 == 0 ? "Praxisweg" : "Bahnhofstrasse"));
+        }
+
+        var ids = new ArrayList<Long>();
+        Long after = null;
+        do {
+            var page = this.index.search("prax", after, 9);
+            ids.addAll(ids(page.places()));
+            after = page.nextAfterId();
+        } while (after != null);
+
+        assertThat(ids).containsExactlyElementsOf(
+                LongStream.range(10, 110).filter(id -> id % 3 == 0 || id % 2 == 0).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("follows updates and removals")
+    void updateAndRemove() {
+        this.index.put(new PlaceSearchHitRecord(2L, "Casa Ferlin", "Bahnhofstrasse 1, 3011 Bern"));
+        assertThat(ids(this.index.search("zurich", null, 10).places())).containsExactly(3L);
+        assertThat(ids(this.index.search("bern", null, 10).places())).containsExactly(2L);
+
+        this.index.remove(3L);
+        assertThat(this.index.search("zahringer", null, 10).places()).isEmpty();
+        assertThat(ids(this.index.search("caf", null, 10).places())).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("ignores puts older than the indexed version and puts after a removal")
+    void outOfOrderPuts() {
+        this.index.put(place(2L, "Casa Ferlin Bern", 2));
+        this.index.put(place(2L, "Casa Ferlin Basel", 1));
+        this.index.put(new PlaceSearchHitRecord(2L, "Casa Ferlin", "Zürich"));
+        assertThat(ids(this.index.search("bern", null, 10).places())).containsExactly(2L);
+        assertThat(this.index.search("basel", null, 10).places()).isEmpty();
+
+        this.watermark.track(() -> {
+            this.index.remove(2L);
+            this.index.put(place(2L, "Casa Ferlin Bern", 3));
+        });
+        assertThat(this.index.search("ferlin", null, 10).places()).isEmpty();
+    }
+
+    private static Place place(Long id, String label, long version) {
+        return Place.builder()
+                .id(id)
+                .label(label)
+                .location("")
+                .version(version)
+                .build();
+    }
+
+    private static List<Long> ids(List<PlaceSearchHitRecord> hits) {
+        return hits.stream().map(PlaceSearchHitRecord::id).toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.demo.aerztekasse.repository;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.demo.aerztekasse.AerztekasseApplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for the repository queries on DAY_OPENING and
+ * checks that they are answered through an index instead of scanning the table. Only the
+ * "open between" queries name their index: it is the only one leading with DAY_OF_WEEK.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE,
+        classes = AerztekasseApplication.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:queryplan;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + "com.demo.aerztekasse.repository.DayOpeningQueryPlanTests$RecordingStatementInspector"
+        })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DayOpeningQueryPlanTests {
+
+    private static final int PLACES = 2_000;
+    private static final List<Long> PLACE_IDS = List.of(100_001L, 100_002L, 100_003L);
+
+    @Autowired
+    private PlaceRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void fill() {
+        var places = new ArrayList<Object[]>(PLACES);
+        var days = new ArrayList<Object[]>(PLACES * 14);
+        var dayId = 100_000L;
+        for (long place = 100_000; place < 100_000 + PLACES; place++) {
+            places.add(new Object[] { place, "Place " + place, "Location " + place });
+            for (int day = 0; day < 7; day++) {
+                var shift = (int) (place % 60);
+                days.add(new Object[] { dayId++, place, day, 600 + shift, 840 + shift });
+                days.add(new Object[] { dayId++, place, day, 1080 + shift, 1440 });
+            }
+        }
+        this.jdbcTemplate.batchUpdate("INSERT INTO PLACE(ID, LABEL, LOCATION) VALUES (?, ?, ?)", places);
+        this.jdbcTemplate.batchUpdate("INSERT INTO DAY_OPENING(ID, PLACE_ID, DAY_OF_WEEK, START_MINUTE, END_MINUTE, OPENING_TYPE) "
+                + "VALUES (?, ?, ?, ?, ?, 'OPEN')", days);
+        this.jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("open between (whole) reads the overlapping intervals through the day/start/end index")
+    void openThroughoutUsesDayIndex() {
+        var plan = explain(() -> this.repository.findIntervalsOpenDuring(DayOfWeek.FRIDAY, 1080, 1320),
+                DayOfWeek.FRIDAY.ordinal(), 1320, 1080);
+
+        assertThat(plan).contains("IDX_DAY_OPENING_DAY_START_END")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("open between (any) uses the day/start/end index")
+    void openDuringUsesDayIndex() {
+        var plan = explain(() -> this.repository.findIdsOpenDuring(DayOfWeek.FRIDAY, 1080, 1320),
+                DayOfWeek.FRIDAY.ordinal(), 1320, 1080);
+
+        assertThat(plan).contains("IDX_DAY_OPENING_DAY_START_END")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("loading a set of places with their days does not scan DAY_OPENING")
+    void placesWithDaysUseIndexes() {
+        var plan = explain(() -> this.repository.findAllWithDaysByIdIn(PLACE_IDS), PLACE_IDS.toArray());
+
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("loading one place with its days does not scan DAY_OPENING")
+    void placeByIdUsesIndexes() {
+        var plan = explain(() -> this.repository.findById(PLACE_IDS.getFirst()), PLACE_IDS.getFirst());
+
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    /**
+     * Runs the repository call to capture the statement Hibernate sends and explains that
+     * statement with the given parameters bound in order.
+     */
+    private String explain(Runnable repositoryCall, Object... parameters) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        repositoryCall.run();
+        var sql = RecordingStatementInspector.STATEMENTS.getLast();
+        assertThat(sql).containsIgnoringCase("day_opening");
+        return this.jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.demo.aerztekasse.service.impl;
+
+import com.demo.aerztekasse.config.Config;
+import com.demo.aerztekasse.entity.DayOpening;
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.demo.aerztekasse.records.GroupedOpeningDayRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupPlaceServiceImplTests {
+
+    private static final int[] STARTS = { 0, 360, 690, 900, 1110, 1380 };
+
+    private final List<DayOfWeek> dayOrder = new Config().dayOrder();
+    private final GroupPlaceServiceImpl service = new GroupPlaceServiceImpl(null, this.dayOrder, null, null, null);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("groupOpenings serializes byte-identically to the string-keyed grouping")
+    void groupOpeningsMatchesReference() throws Exception {
+        var random = new Random(42);
+        for (int run = 0; run < 5_000; run++) {
+            var days = randomSchedule(random);
+
+            var expected = this.objectMapper.writeValueAsBytes(reference(days));
+            var actual = this.objectMapper.writeValueAsBytes(this.service.groupOpenings(days));
+
+            assertThat(actual).as("schedule %s", days).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("groupOpenings renders closed days and the midnight end")
+    void groupOpeningsClosedAndMidnight() {
+        var days = List.of(opening(DayOfWeek.TUESDAY, 1110, 1440), opening(DayOfWeek.TUESDAY, 690, 900),
+                opening(DayOfWeek.WEDNESDAY, 690, 900), opening(DayOfWeek.WEDNESDAY, 1110, 1440));
+
+        var grouped = this.service.groupOpenings(days);
+
+        assertThat(grouped).containsExactly(
+                new GroupedOpeningDayRecord("Monday - Sunday", List.of("closed")),
+                new GroupedOpeningDayRecord("Tuesday - Wednesday", List.of("11:30 - 15:00", "18:30 - 00:00")));
+    }
+
+    private List<DayOpening> randomSchedule(Random random) {
+        var days = new ArrayList<DayOpening>();
+        var count = random.nextInt(12);
+        for (int i = 0; i < count; i++) {
+            var start = STARTS[random.nextInt(STARTS.length)];
+            var end = Math.min(start + 60 * (1 + random.nextInt(3)), TimeHelper.MINUTES_PER_DAY);
+            days.add(opening(DayOfWeek.values()[random.nextInt(7)], start, end));
+        }
+        if (random.nextBoolean()) {
+            for (DayOpening opening : List.copyOf(days)) {
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    if (random.nextInt(3) == 0) {
+                        days.add(opening(day, opening.getStartMinute(), opening.getEndMinute()));
+                    }
+                }
+            }
+        }
+        Collections.shuffle(days, random);
+        return days;
+    }
+
+    private DayOpening opening(DayOfWeek day, int start, int end) {
+        return DayOpening.builder()
+                .dayOfWeek(day)
+                .startMinute(start)
+                .endMinute(end)
+                .type("OPEN")
+                .build();
+    }
+
+    /**
+     * The previous implementation: per-day interval strings joined into a map key.
+     */
+    private List<GroupedOpeningDayRecord> reference(List<DayOpening> days) {
+        var byDay = days.stream().collect(Collectors.groupingBy(DayOpening::getDayOfWeek));
+
+        LinkedHashMap<String, List<DayOfWeek>> groupedDays = new LinkedHashMap<>();
+        Map<String, List<String>> intervalMap = new HashMap<>();
+
+        for (DayOfWeek day : this.dayOrder) {
+            var opens = byDay.getOrDefault(day, Collections.emptyList());
+            List<String> intervals;
+
+            if (opens.isEmpty()) {
+                intervals = List.of("closed");
+            } else {
+                intervals = opens.stream()
+                        .sorted(Comparator.comparing(DayOpening::getStartMinute))
+                        .map(o -> TimeHelper.format(o.getStartMinute()) + " - " + TimeHelper.format(o.getEndMinute()))
+                        .collect(Collectors.toList());
+            }
+
+            var key = String.join(", ", intervals);
+            groupedDays.computeIfAbsent(key, k -> new ArrayList<>()).add(day);
+            intervalMap.putIfAbsent(key, intervals);
+        }
+
+        return groupedDays.entrySet()
+                .stream()
+                .sorted(Comparator.comparing(e -> this.dayOrder.indexOf(e.getValue().getFirst())))
+                .map(e -> new GroupedOpeningDayRecord(
+                        this.service.formatDays(e.getValue().getFirst(), e.getValue().getLast()),
+                        intervalMap.get(e.getKey())
+                ))
+                .collect(Collectors.toList());
+    }
+}
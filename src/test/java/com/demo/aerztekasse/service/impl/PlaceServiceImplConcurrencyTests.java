@@ -0,0 +1,129 @@
+package com.demo.aerztekasse.service.impl;
+
+import com.demo.aerztekasse.AerztekasseApplication;
+import com.demo.aerztekasse.helper.TimeHelper;
+import com.demo.aerztekasse.records.OpenIntervalRecord;
+import com.demo.aerztekasse.records.OpeningHoursPatchRecord;
+import com.demo.aerztekasse.records.OpeningHoursRecord;
+import com.demo.aerztekasse.records.PlaceRecord;
+import com.demo.aerztekasse.service.PlaceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers a single place from several threads at once. Every write must end up in the final
+ * state and in the version, whether the conflicts are resolved by the client (If-Match and
+ * re-read) or by the server-side retry.
+ */
+@SpringBootTest(classes = AerztekasseApplication.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:concurrency;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.show-sql=false",
+                "aerztekasse.update.max-attempts=100"
+        })
+class PlaceServiceImplConcurrencyTests {
+
+    private static final int WRITERS = 8;
+    private static final int INCREMENTS = 25;
+    private static final int ROUNDS = 25;
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Test
+    @DisplayName("read-modify-write with If-Match loses no increment under contention")
+    void conditionalUpdatesLoseNothing() throws Exception {
+        var id = createPlace("0");
+        var preconditionFailures = new AtomicInteger();
+
+        runConcurrently(WRITERS, writer -> () -> {
+            for (int done = 0; done < INCREMENTS; ) {
+                var read = this.placeService.findById(id);
+                var current = read.place();
+                var next = new PlaceRecord(id, String.valueOf(Integer.parseInt(current.label()) + 1),
+                        current.location(), current.openingHours());
+                try {
+                    this.placeService.updatePlace(next, read.version().version());
+                    done++;
+                } catch (ResponseStatusException e) {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+                    preconditionFailures.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        assertThat(this.placeService.findById(id).place().label()).isEqualTo(String.valueOf(WRITERS * INCREMENTS));
+        assertThat(this.placeService.findVersionById(id).version()).isEqualTo(WRITERS * INCREMENTS);
+    }
+
+    @Test
+    @DisplayName("unconditional patches of different days are retried on conflict and all survive")
+    void unconditionalPatchesAreRetried() throws Exception {
+        var id = createPlace("patched");
+        var days = DayOfWeek.values();
+
+        runConcurrently(days.length, writer -> () -> {
+            var day = days[writer].name().toLowerCase();
+            for (int round = 1; round <= ROUNDS; round++) {
+                var interval = new OpenIntervalRecord("08:00", TimeHelper.format(9 * 60 + round), "OPEN");
+                this.placeService.patchOpeningHours(id, new OpeningHoursPatchRecord(Map.of(day, List.of(interval))), null);
+            }
+            return null;
+        });
+
+        var place = this.placeService.findById(id).place();
+        for (DayOfWeek day : days) {
+            assertThat(place.openingHours().days().get(day.name().toLowerCase()))
+                    .containsExactly(new OpenIntervalRecord("08:00", TimeHelper.format(9 * 60 + ROUNDS), "OPEN"));
+        }
+        assertThat(this.placeService.findVersionById(id).version()).isEqualTo((long) days.length * ROUNDS);
+    }
+
+    private Long createPlace(String label) {
+        var days = new LinkedHashMap<String, List<OpenIntervalRecord>>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            days.put(day.name().toLowerCase(), List.of(new OpenIntervalRecord("08:00", "09:00", "OPEN")));
+        }
+        var place = new PlaceRecord(null, label, "Contended 1", new OpeningHoursRecord(days));
+        return this.placeService.savePlace(List.of(place)).getFirst().id();
+    }
+
+    /**
+     * Starts all writers at once and rethrows the first failure; a writer that is still busy
+     * after a minute counts as a throughput collapse.
+     */
+    private static void runConcurrently(int writers, IntFunction<Callable<Void>> writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            var futures = new ArrayList<Future<Void>>(writers);
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(writer.apply(w)));
+            }
+            for (Future<Void> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
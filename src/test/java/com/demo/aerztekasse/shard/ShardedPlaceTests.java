@@ -0,0 +1,298 @@
+package com.demo.aerztekasse.shard;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.persistence.PersistenceException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.demo.aerztekasse.AerztekasseApplication;
+import com.demo.aerztekasse.records.BulkDeleteRequestRecord;
+import com.demo.aerztekasse.records.OpenIntervalRecord;
+import com.demo.aerztekasse.records.OpeningHoursRecord;
+import com.demo.aerztekasse.records.PlaceRecord;
+import com.demo.aerztekasse.service.PlaceService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the application on three in-memory H2 shards and checks where places are stored and
+ * that reads spanning the shards come back complete and in id order.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK,
+        classes = AerztekasseApplication.class,
+        properties = {
+                "aerztekasse.sharding.enabled=true",
+                "aerztekasse.sharding.urls=jdbc:h2:mem:shardtest0;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE,"
+                        + "jdbc:h2:mem:shardtest1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE,"
+                        + "jdbc:h2:mem:shardtest2;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.sql.init.mode=never",
+                "spring.jpa.show-sql=false"
+        })
+@AutoConfigureMockMvc
+class ShardedPlaceTests {
+
+    private static final int SHARDS = 3;
+    private static final int PLACES = 60;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlaceService placeService;
+
+    @Autowired
+    private PlaceShards shards;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("each place and its openings are stored only on the shard its id hashes to")
+    void placesLiveOnTheirShard() {
+        var ids = createPlaces("Stored");
+
+        assertThat(new HashSet<>(ids)).hasSize(PLACES);
+        var perShard = new int[SHARDS];
+        for (Long id : ids) {
+            var home = this.shards.shardOf(id);
+            perShard[home]++;
+            for (int shard = 0; shard < SHARDS; shard++) {
+                var expected = shard == home ? 1 : 0;
+                assertThat(count(shard, "SELECT COUNT(*) FROM PLACE WHERE ID = ?", id)).isEqualTo(expected);
+                assertThat(count(shard, "SELECT COUNT(*) FROM DAY_OPENING WHERE PLACE_ID = ?", id)).isEqualTo(expected);
+            }
+        }
+        assertThat(perShard).doesNotContain(0);
+    }
+
+    @Test
+    @DisplayName("lists, pages, search and open-at gather all shards in id order")
+    void readsSpanAllShards() throws Exception {
+        var ids = createPlaces("Gathered");
+
+        var all = ids(read(get("/places")), "$");
+        assertThat(all).containsAll(ids).isSorted();
+
+        var paged = new ArrayList<Long>();
+        Long afterId = 0L;
+        while (afterId != null) {
+            var page = read(get("/places").param("afterId", afterId.toString()).param("limit", "7"));
+            page.get("places").forEach(place -> paged.add(place.get("id").asLong()));
+            afterId = page.hasNonNull("nextAfterId") ? page.get("nextAfterId").asLong() : null;
+        }
+        assertThat(paged).isEqualTo(all);
+
+        var hits = ids(read(get("/places/search").param("q", "gathered").param("limit", "100")), "places");
+        assertThat(hits).containsExactlyElementsOf(ids.stream().sorted().toList());
+
+        var open = ids(read(get("/places/open-at").param("day", "monday").param("time", "09:30")), "$");
+        assertThat(open).containsAll(ids).isSorted();
+    }
+
+    @Test
+    @DisplayName("updates and deletes reach the shard of the place")
+    void writesByIdAreRouted() throws Exception {
+        var ids = createPlaces("Written");
+        var updated = ids.getFirst();
+
+        this.mockMvc.perform(put("/places")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(place(updated, "Renamed"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + updated + "-1\""));
+        this.mockMvc.perform(get("/places/{id}", updated))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.label").value("Renamed"));
+
+        var deleted = ids.get(1);
+        this.mockMvc.perform(delete("/places/{id}", deleted))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/places/{id}", deleted))
+                .andExpect(status().isNotFound());
+        assertThat(count(this.shards.shardOf(deleted), "SELECT COUNT(*) FROM PLACE WHERE ID = ?", deleted)).isZero();
+    }
+
+    @Test
+    @DisplayName("bulk delete removes places from every shard and reports unknown ids")
+    void bulkDeleteAcrossShards() throws Exception {
+        var ids = createPlaces("Bulk");
+        var requested = new ArrayList<>(ids.subList(0, 20));
+        requested.add(-1L);
+
+        this.mockMvc.perform(post("/places/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(Map.of("ids", requested))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(20))
+                .andExpect(jsonPath("$.notFound").value(contains(-1)));
+
+        for (Long id : ids.subList(0, 20)) {
+            assertThat(count(this.shards.shardOf(id), "SELECT COUNT(*) FROM PLACE WHERE ID = ?", id)).isZero();
+        }
+        this.mockMvc.perform(get("/places/open-at").param("day", "monday").param("time", "09:30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(ids.getFirst()))));
+        this.mockMvc.perform(get("/places/{id}", ids.get(20)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("places committed on the first shard are published when the second shard fails")
+    void createFailingOnSecondShard() throws Exception {
+        execute(1, "ALTER TABLE PLACE ADD CONSTRAINT REJECT_PARTIAL CHECK (LABEL NOT LIKE 'Partial%')");
+        try {
+            assertThatThrownBy(() -> createPlaces("Partial")).isInstanceOf(PersistenceException.class);
+        } finally {
+            execute(1, "ALTER TABLE PLACE DROP CONSTRAINT REJECT_PARTIAL");
+        }
+
+        var committed = idsLabeled(0, "Partial");
+        assertThat(committed).isNotEmpty();
+        for (int shard = 1; shard < SHARDS; shard++) {
+            assertThat(idsLabeled(shard, "Partial")).isEmpty();
+        }
+
+        var hits = ids(read(get("/places/search").param("q", "partial").param("limit", "100")), "places");
+        assertThat(hits).containsExactlyElementsOf(committed);
+        var open = ids(read(get("/places/open-at").param("day", "monday").param("time", "09:30")), "$");
+        assertThat(open).containsAll(committed);
+        for (Long id : committed) {
+            this.mockMvc.perform(get("/places/{id}", id))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    @DisplayName("places deleted on the first shard are unpublished when the second shard fails")
+    void bulkDeleteFailingOnSecondShard() throws Exception {
+        var ids = createPlaces("Pinned");
+        var pinned = ids.stream().filter(id -> this.shards.shardOf(id) == 1).findFirst().orElseThrow();
+        execute(1, "CREATE TABLE PIN (PLACE_ID BIGINT REFERENCES PLACE (ID))");
+        try {
+            execute(1, "INSERT INTO PIN VALUES (" + pinned + ")");
+            assertThatThrownBy(() -> this.placeService.bulkDelete(new BulkDeleteRequestRecord(ids, null)))
+                    .isInstanceOf(DataAccessException.class);
+        } finally {
+            execute(1, "DROP TABLE PIN");
+        }
+
+        var open = ids(read(get("/places/open-at").param("day", "monday").param("time", "09:30")), "$");
+        for (Long id : ids) {
+            var shard = this.shards.shardOf(id);
+            var stored = count(shard, "SELECT COUNT(*) FROM PLACE WHERE ID = ?", id);
+            assertThat(stored).isEqualTo(shard == 0 ? 0 : 1);
+            assertThat(open.contains(id)).isEqualTo(shard != 0);
+            this.mockMvc.perform(get("/places/{id}", id))
+                    .andExpect(shard == 0 ? status().isNotFound() : status().isOk());
+        }
+    }
+
+    @Test
+    @DisplayName("an import chunk failing on the second shard still reports the lines saved on the first")
+    void importFailingOnSecondShard() throws Exception {
+        var ndjson = new StringBuilder();
+        for (int i = 0; i < PLACES; i++) {
+            ndjson.append(this.objectMapper.<JsonNode>valueToTree(place(null, "Imported " + i)).toString()).append('\n');
+        }
+        execute(1, "ALTER TABLE PLACE ADD CONSTRAINT REJECT_IMPORT CHECK (LABEL NOT LIKE 'Imported%')");
+        String body;
+        try {
+            body = this.mockMvc.perform(post("/places/import")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(ndjson.toString()))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+        } finally {
+            execute(1, "ALTER TABLE PLACE DROP CONSTRAINT REJECT_IMPORT");
+        }
+
+        var results = new ArrayList<JsonNode>();
+        for (String line : body.lines().toList()) {
+            results.add(this.objectMapper.readTree(line));
+        }
+        var accepted = results.subList(0, results.size() - 1).stream()
+                .filter(result -> "accepted".equals(result.get("status").asText()))
+                .map(result -> result.get("id").asLong())
+                .toList();
+        var committed = idsLabeled(0, "Imported");
+        assertThat(committed).isNotEmpty();
+        assertThat(accepted).containsExactlyInAnyOrderElementsOf(committed);
+        assertThat(results).hasSize(PLACES + 1);
+        assertThat(results.getLast().get("accepted").asInt()).isEqualTo(committed.size());
+        assertThat(results.getLast().get("rejected").asInt()).isEqualTo(PLACES - committed.size());
+    }
+
+    private List<Long> createPlaces(String label) {
+        var places = new ArrayList<PlaceRecord>(PLACES);
+        for (int i = 0; i < PLACES; i++) {
+            places.add(place(null, label + " " + i));
+        }
+        return this.placeService.savePlace(places).stream()
+                .map(PlaceRecord::id)
+                .toList();
+    }
+
+    private static PlaceRecord place(Long id, String label) {
+        var days = Map.of("monday", List.of(new OpenIntervalRecord("08:00", "12:00", "OPEN")));
+        return new PlaceRecord(id, label, "Shard Street", new OpeningHoursRecord(days));
+    }
+
+    private void execute(int shard, String sql) {
+        ShardContext.call(shard, () -> {
+            this.jdbcTemplate.execute(sql);
+            return null;
+        });
+    }
+
+    private List<Long> idsLabeled(int shard, String prefix) {
+        return ShardContext.call(shard, () -> this.jdbcTemplate.queryForList(
+                "SELECT ID FROM PLACE WHERE LABEL LIKE ? ORDER BY ID", Long.class, prefix + "%"));
+    }
+
+    private int count(int shard, String sql, Long id) {
+        return ShardContext.call(shard, () -> this.jdbcTemplate.queryForObject(sql, Integer.class, id));
+    }
+
+    private JsonNode read(RequestBuilder request) throws Exception {
+        var body = this.mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return this.objectMapper.readTree(body);
+    }
+
+    private static List<Long> ids(JsonNode node, String field) {
+        var array = "$".equals(field) ? node : node.get(field);
+        var ids = new ArrayList<Long>(array.size());
+        array.forEach(place -> ids.add(place.get("id").asLong()));
+        return ids;
+    }
+}
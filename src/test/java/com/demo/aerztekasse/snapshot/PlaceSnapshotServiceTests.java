@@ -0,0 +1,140 @@
+package com.demo.aerztekasse.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.demo.aerztekasse.AerztekasseApplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = WebEnvironment.NONE,
+        classes = AerztekasseApplication.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:snapshot;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+class PlaceSnapshotServiceTests {
+
+    private static final String PLACES = "SELECT ID || '|' || LABEL || '|' || LOCATION || '|' || VERSION FROM PLACE ORDER BY ID";
+    private static final String OPENINGS = """
+            SELECT ID || '|' || PLACE_ID || '|' || DAY_OF_WEEK || '|' || START_MINUTE || '|' || END_MINUTE || '|' || OPENING_TYPE
+            FROM DAY_OPENING ORDER BY ID""";
+
+    @Autowired
+    private PlaceSnapshotService snapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("a written snapshot restores places and openings and moves the sequences past the loaded ids")
+    void roundTrip() throws IOException {
+        var places = this.jdbcTemplate.queryForList(PLACES, String.class);
+        var openings = this.jdbcTemplate.queryForList(OPENINGS, String.class);
+        var file = this.directory.resolve("places.snapshot");
+
+        var written = this.snapshotService.write(file);
+
+        assertThat(written.places()).isEqualTo(places.size());
+        assertThat(written.openings()).isEqualTo(openings.size());
+        assertThat(Files.size(file)).isEqualTo(written.bytes());
+
+        this.jdbcTemplate.update("DELETE FROM DAY_OPENING WHERE PLACE_ID = 2");
+        this.jdbcTemplate.update("DELETE FROM PLACE WHERE ID = 2");
+        this.jdbcTemplate.update("UPDATE PLACE SET LABEL = 'changed' WHERE ID = 1");
+
+        var loaded = this.snapshotService.load(file);
+
+        assertThat(loaded.places()).isEqualTo(places.size());
+        assertThat(this.jdbcTemplate.queryForList(PLACES, String.class)).isEqualTo(places);
+        assertThat(this.jdbcTemplate.queryForList(OPENINGS, String.class)).isEqualTo(openings);
+        var maxOpeningId = this.jdbcTemplate.queryForObject("SELECT MAX(ID) FROM DAY_OPENING", Long.class);
+        assertThat(this.jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR DAY_OPENING_SEQ", Long.class))
+                .isGreaterThan(maxOpeningId + 50);
+    }
+
+    @Test
+    @DisplayName("a loaded snapshot does not reissue the id of a place deleted before it was written")
+    void deletedIdsAreNotReissued() throws IOException {
+        long deleted = 0;
+        for (int block = 0; block < 3; block++) {
+            deleted = this.jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR PLACE_SEQ", Long.class);
+        }
+        this.jdbcTemplate.update("INSERT INTO PLACE(ID, LABEL, LOCATION, VERSION, LAST_MODIFIED) "
+                + "VALUES (?, 'Gone', 'Sion', 0, CURRENT_TIMESTAMP)", deleted);
+        this.jdbcTemplate.update("DELETE FROM PLACE WHERE ID = ?", deleted);
+        var file = this.directory.resolve("high-water.snapshot");
+
+        this.snapshotService.write(file);
+        this.snapshotService.load(file);
+
+        assertThat(this.jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR PLACE_SEQ", Long.class))
+                .isGreaterThan(deleted);
+    }
+
+    @Test
+    @DisplayName("a corrupt snapshot is rejected and leaves the tables untouched")
+    void corrupt() throws IOException {
+        var places = this.jdbcTemplate.queryForList(PLACES, String.class);
+        var file = this.directory.resolve("corrupt.snapshot");
+        this.snapshotService.write(file);
+        var bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThatThrownBy(() -> this.snapshotService.load(file)).isInstanceOf(IOException.class);
+        assertThat(this.jdbcTemplate.queryForList(PLACES, String.class)).isEqualTo(places);
+
+        Files.writeString(file, "this is not a place snapshot");
+        assertThatThrownBy(() -> this.snapshotService.load(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a place snapshot");
+    }
+
+    @Test
+    @DisplayName("the reader returns what the writer wrote, including null and non-ASCII strings")
+    void format() throws IOException {
+        var file = this.directory.resolve("format.snapshot");
+        var lastModified = Instant.parse("2024-03-01T10:15:30.123456Z");
+        try (var writer = new PlaceSnapshotWriter(file)) {
+            writer.place(7, "Café Zürich", null, 3, lastModified);
+            writer.opening(70, DayOfWeek.SUNDAY, 1380, 1440, "OPEN");
+            writer.opening(71, DayOfWeek.MONDAY, 0, 60, null);
+            writer.place(8, "", "Sion", 0, Instant.EPOCH);
+        }
+
+        var records = new ArrayList<String>();
+        var count = PlaceSnapshotReader.read(file, new PlaceSnapshotVisitor() {
+            @Override
+            public void place(long id, String label, String location, long version, Instant modified) {
+                records.add(id + "|" + label + "|" + location + "|" + version + "|" + modified);
+            }
+
+            @Override
+            public void opening(long id, long placeId, DayOfWeek day, int start, int end, String type) {
+                records.add(id + "|" + placeId + "|" + day + "|" + start + "|" + end + "|" + type);
+            }
+        });
+
+        assertThat(count).isEqualTo(2);
+        assertThat(records).isEqualTo(List.of(
+                "7|Café Zürich|null|3|2024-03-01T10:15:30.123456Z",
+                "70|7|SUNDAY|1380|1440|OPEN",
+                "71|7|MONDAY|0|60|null",
+                "8||Sion|0|1970-01-01T00:00:00Z"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.demo.aerztekasse.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.demo.aerztekasse.records.OpenIntervalRecord;
+import com.demo.aerztekasse.records.OpeningHoursRecord;
+import com.demo.aerztekasse.records.PlaceRecord;
+
+/**
+ * Generates realistic weekly schedules for the JMH benchmarks and the JUnit load harness: a
+ * total number of intervals spread over the week following one of a few common opening
+ * patterns.
+ */
+public final class ScheduleGenerator {
+
+    public enum Pattern {
+        /** Same hours every day of the week. */
+        UNIFORM,
+        /** Same hours Monday to Friday, different hours on the weekend. */
+        WEEKDAYS,
+        /** Lunch and dinner shifts, closed on one or two days. */
+        SPLIT,
+        /** Every day has its own hours. */
+        RANDOM
+    }
+
+    private static final String[] DAYS = {
+            "monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday" };
+
+    private ScheduleGenerator() {
+    }
+
+    public static List<PlaceRecord> places(int count, int intervals, Pattern pattern, long seed) {
+        var random = new Random(seed);
+        var places = new ArrayList<PlaceRecord>(count);
+        for (int i = 0; i < count; i++) {
+            places.add(place(i, intervals, pattern, random));
+        }
+        return places;
+    }
+
+    /**
+     * Generates a single place; for callers that build large data sets without holding all
+     * generated records at once.
+     */
+    public static PlaceRecord place(int index, int intervals, Pattern pattern, Random random) {
+        return new PlaceRecord((long) index + 1,
+                "Place " + index,
+                "Rue de Conthey " + index + ", 1950 Sion",
+                new OpeningHoursRecord(days(intervals, pattern, random)));
+    }
+
+    static Map<String, List<OpenIntervalRecord>> days(int intervals, Pattern pattern, Random random) {
+        var days = new LinkedHashMap<String, List<OpenIntervalRecord>>();
+        switch (pattern) {
+            case UNIFORM -> {
+                var perDay = Math.max(1, intervals / DAYS.length);
+                var hours = day(perDay, random);
+                for (String day : DAYS) {
+                    days.put(day, hours);
+                }
+            }
+            case WEEKDAYS -> {
+                var perDay = Math.max(1, intervals / DAYS.length);
+                var weekday = day(perDay, random);
+                var weekend = day(Math.max(1, perDay / 2), random);
+                for (int d = 0; d < DAYS.length; d++) {
+                    days.put(DAYS[d], d < 5 ? weekday : weekend);
+                }
+            }
+            case SPLIT -> {
+                var closed = random.nextInt(DAYS.length);
+                var open = DAYS.length - 1;
+                var perDay = Math.max(2, intervals / open);
+                var shifts = day(perDay, random);
+                for (int d = 0; d < DAYS.length; d++) {
+                    if (d != closed) {
+                        days.put(DAYS[d], random.nextInt(3) == 0 ? day(perDay, random) : shifts);
+                    }
+                }
+            }
+            case RANDOM -> {
+                var remaining = intervals;
+                for (int d = 0; d < DAYS.length && remaining > 0; d++) {
+                    var perDay = d == DAYS.length - 1
+                            ? remaining
+                            : Math.max(1, Math.min(remaining, remaining / (DAYS.length - d) + random.nextInt(2)));
+                    days.put(DAYS[d], day(perDay, random));
+                    remaining -= perDay;
+                }
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Splits the day into {@code count} non-overlapping intervals; the last one may end at
+     * midnight ("00:00").
+     */
+    static List<OpenIntervalRecord> day(int count, Random random) {
+        var intervals = new ArrayList<OpenIntervalRecord>(count);
+        var slot = (24 * 60 - 6 * 60) / count;
+        var start = 6 * 60;
+        for (int i = 0; i < count; i++) {
+            var open = start + random.nextInt(Math.max(1, slot / 4));
+            var close = start + slot - random.nextInt(Math.max(1, slot / 4));
+            if (close <= open) {
+                close = open + 1;
+            }
+            var end = close >= 24 * 60 ? "00:00" : format(close);
+            intervals.add(new OpenIntervalRecord(format(open), end, "OPEN"));
+            start += slot;
+        }
+        return intervals;
+    }
+
+    private static String format(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+}